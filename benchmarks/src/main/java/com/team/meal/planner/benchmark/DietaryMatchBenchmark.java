@@ -0,0 +1,92 @@
+package com.team.meal.planner.benchmark;
+
+import com.team.meal.planner.entities.DietaryTag;
+import com.team.meal.planner.entities.Meal;
+import com.team.meal.planner.entities.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code Person.isMealSuitable} (bitmask check) against the original tag-by-tag string matching, for
+ * growing numbers of dietary restrictions and meal tags.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DietaryMatchBenchmark {
+
+    private static final List<DietaryTag> RESTRICTIONS = List.of(DietaryTag.VEGETARIAN, DietaryTag.NUT_FREE,
+            DietaryTag.GLUTEN_FREE, DietaryTag.VEGAN, DietaryTag.HALAL, DietaryTag.KOSHER);
+
+    /**
+     * The first tags satisfy the first restrictions above, the rest are noise a real menu carries too.
+     */
+    private static final List<String> MEAL_TAGS = List.of("VEGETARIAN_FRIENDLY", "NUT_FREE", "GLUTEN_FREE_OPTIONS",
+            "VEGAN", "HALAL", "KOSHER", "SPICY", "LOCAL", "SEASONAL", "CHEFS_SPECIAL");
+
+    @Param({"1", "3", "6"})
+    private int restrictions;
+
+    @Param({"1", "5", "10"})
+    private int mealTagCount;
+
+    private Set<DietaryTag> personTags;
+    private Set<String> mealTags;
+    private Person person;
+    private Meal meal;
+
+    @Setup
+    public void setUp() {
+        personTags = new HashSet<>(RESTRICTIONS.subList(0, restrictions));
+        mealTags = new HashSet<>(MEAL_TAGS.subList(0, mealTagCount));
+        person = new Person();
+        person.setDietaryTags(personTags);
+        meal = new Meal();
+        meal.setTags(mealTags);
+    }
+
+    @Benchmark
+    public boolean stringMatching() {
+        return legacyIsMealSuitable(personTags, mealTags);
+    }
+
+    @Benchmark
+    public boolean bitmask() {
+        return person.isMealSuitable(meal);
+    }
+
+    /**
+     * {@code Person.isMealSuitable} as it was before dietary masks.
+     */
+    static boolean legacyIsMealSuitable(Set<DietaryTag> dietaryTags, Set<String> mealTags) {
+        if (mealTags == null || mealTags.isEmpty()) return true;
+        for (DietaryTag tag : dietaryTags) {
+            if (tag == DietaryTag.NONE) continue;
+            boolean satisfied = mealTags.stream()
+                    .filter(Objects::nonNull)
+                    .anyMatch(mealTag ->
+                            mealTag.equalsIgnoreCase(tag.name()) ||
+                                    mealTag.toUpperCase().startsWith(tag.name() + "_"));
+            if (!satisfied) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,113 @@
+package com.team.meal.planner.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.team.meal.planner.dto.SignupResponse;
+import com.team.meal.planner.entities.Meal;
+import com.team.meal.planner.entities.Person;
+import com.team.meal.planner.entities.Signup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building {@link SignupResponse}s and writing meals to JSON with an {@link ObjectMapper} configured the way
+ * Spring Boot configures the application's (java.time module, ISO dates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2030, 5, 14, 12, 30);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Signup signup;
+    private Meal meal;
+
+    @Setup
+    public void setUp() {
+        meal = meal("Team Lunch", DATE);
+        Person person = new Person();
+        person.setName("Bench Person");
+        person.setEmail("bench@example.com");
+        signup = new Signup();
+        signup.setMeal(meal);
+        signup.setPerson(person);
+        signup.setMealDay(DATE.toLocalDate());
+        signup.setNote("window seat please");
+    }
+
+    @Benchmark
+    public SignupResponse signupResponseFromEntity() {
+        return new SignupResponse(signup);
+    }
+
+    @Benchmark
+    public SignupResponse signupResponseFromProjection() {
+        return new SignupResponse(42L, "window seat please", meal.getDate(), 7L, meal.getTitle(),
+                meal.getCuisine(), meal.getDate(), 9L, "Bench Person");
+    }
+
+    @Benchmark
+    public byte[] serializeMeal() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(meal);
+    }
+
+    @Benchmark
+    public byte[] serializeMealPage(MealPage state) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(state.page);
+    }
+
+    @State(Scope.Benchmark)
+    public static class MealPage {
+
+        @Param({"20", "100"})
+        private int pageSize;
+
+        private Page<Meal> page;
+
+        @Setup
+        public void setUp() {
+            List<Meal> meals = new ArrayList<>(pageSize);
+            for (int i = 0; i < pageSize; i++) {
+                meals.add(meal("Team Lunch " + i, DATE.plusDays(i)));
+            }
+            page = new PageImpl<>(meals, PageRequest.of(3, pageSize, Sort.by(Sort.Direction.DESC, "date")), 1_000);
+        }
+    }
+
+    private static Meal meal(String title, LocalDateTime date) {
+        Meal meal = new Meal();
+        meal.setTitle(title);
+        meal.setCuisine("Thai");
+        meal.setDate(date);
+        meal.setMaxAttendees(12);
+        meal.setTags(Set.of("VEGAN_OPTIONS", "NUT_FREE", "SPICY"));
+        meal.setVersion(3L);
+        return meal;
+    }
+}
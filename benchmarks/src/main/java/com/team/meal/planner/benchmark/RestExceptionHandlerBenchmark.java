@@ -0,0 +1,95 @@
+package com.team.meal.planner.benchmark;
+
+import com.team.meal.planner.advice.RestExceptionHandler;
+import com.team.meal.planner.controller.MealController;
+import com.team.meal.planner.dto.MealCreate;
+import com.team.meal.planner.exception.BadRequestException;
+import com.team.meal.planner.exception.ConflictException;
+import com.team.meal.planner.exception.ErrorResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning each exception type into the JSON error body, excluding the MVC dispatch around it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RestExceptionHandlerBenchmark {
+
+    private final RestExceptionHandler handler = new RestExceptionHandler();
+
+    private MockHttpServletRequest request;
+    private MethodArgumentNotValidException validationFailure;
+    private BadRequestException badRequest;
+    private ConflictException conflict;
+    private IllegalStateException unexpected;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        request = new MockHttpServletRequest("POST", "/api/signups");
+
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(new MealCreate(), "mealCreate");
+        errors.addError(new FieldError("mealCreate", "title", "title is required"));
+        errors.addError(new FieldError("mealCreate", "date", "date must be in the future"));
+        errors.addError(new FieldError("mealCreate", "maxAttendees", "maxAttendees must be positive"));
+        MethodParameter parameter = new MethodParameter(
+                MealController.class.getMethod("createMeal", MealCreate.class), 0);
+        validationFailure = new MethodArgumentNotValidException(parameter, errors);
+
+        badRequest = new BadRequestException("Meal not found");
+        conflict = new ConflictException("Meal is full");
+        unexpected = new IllegalStateException("boom");
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> validation() {
+        return handler.handleValidation(validationFailure, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> badRequest() {
+        return handler.handleBadRequest(badRequest, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> conflict() {
+        return handler.handleConflict(conflict, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> unexpected() {
+        return handler.handleOther(unexpected, request);
+    }
+
+    /**
+     * Includes creating the exception, which is what the service pays when it throws on a rejected signup.
+     */
+    @Benchmark
+    public ResponseEntity<ErrorResponse> throwAndHandleConflict() {
+        try {
+            throw new ConflictException("Meal is full");
+        } catch (ConflictException ex) {
+            return handler.handleConflict(ex, request);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.team.meal.planner.loadtest;
+
+import com.team.meal.planner.service.SignupMode;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line options of {@link SignupLoadTest}, given as {@code --name=value}.
+ *
+ * @param scenario       {@code hot}: every request targets one meal; {@code spread}: requests pick one of
+ *                       {@code meals} meals spread over {@code days} days
+ * @param meals          number of meals in the {@code spread} scenario
+ * @param days           number of days the {@code spread} meals are spread over
+ * @param people         people the requests pick from; repeats produce duplicates and day conflicts
+ * @param capacity       {@code maxAttendees} of every meal
+ * @param requests       measured requests
+ * @param warmupRequests requests sent against a separate data set before measuring
+ * @param concurrency    requests in flight at once, one virtual thread each
+ * @param mode           {@code meal-planner.signup.mode} the service runs with
+ * @param threads        {@code platform}: Tomcat's thread pool serves requests; {@code virtual}: the service
+ *                       runs with {@code spring.threads.virtual.enabled}
+ */
+record LoadTestOptions(String scenario, int meals, int days, int people, int capacity, int requests,
+                       int warmupRequests, int concurrency, SignupMode mode, String threads) {
+
+    private static final Set<String> SCENARIOS = Set.of("hot", "spread");
+    private static final Set<String> THREADS = Set.of("platform", "virtual");
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        String scenario = values.getOrDefault("scenario", "hot").toLowerCase(Locale.ROOT);
+        if (!SCENARIOS.contains(scenario)) {
+            throw new IllegalArgumentException("Unknown scenario " + scenario + ", expected one of " + SCENARIOS);
+        }
+        String threads = values.getOrDefault("threads", "platform").toLowerCase(Locale.ROOT);
+        if (!THREADS.contains(threads)) {
+            throw new IllegalArgumentException("Unknown threads " + threads + ", expected one of " + THREADS);
+        }
+        boolean hot = scenario.equals("hot");
+        LoadTestOptions options = new LoadTestOptions(
+                scenario,
+                hot ? 1 : intOption(values, "meals", 200),
+                hot ? 1 : intOption(values, "days", 20),
+                intOption(values, "people", 1_000),
+                intOption(values, "capacity", hot ? 100 : 20),
+                intOption(values, "requests", 10_000),
+                intOption(values, "warmup-requests", 2_000),
+                intOption(values, "concurrency", 64),
+                SignupMode.valueOf(values.getOrDefault("mode", SignupMode.LOCKING.name()).toUpperCase(Locale.ROOT)),
+                threads);
+        values.keySet().removeAll(Set.of("scenario", "meals", "days", "people", "capacity", "requests",
+                "warmup-requests", "concurrency", "mode", "threads"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + values.keySet());
+        }
+        return options;
+    }
+
+    private static int intOption(Map<String, String> values, String name, int defaultValue) {
+        String value = values.get(name);
+        int parsed = value != null ? Integer.parseInt(value) : defaultValue;
+        if (parsed < 1) {
+            throw new IllegalArgumentException("--" + name + " must be positive");
+        }
+        return parsed;
+    }
+}
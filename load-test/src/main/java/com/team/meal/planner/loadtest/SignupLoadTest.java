@@ -0,0 +1,244 @@
+package com.team.meal.planner.loadtest;
+
+import com.team.meal.planner.TeamMealPlannerServiceApplication;
+import com.team.meal.planner.entities.Meal;
+import com.team.meal.planner.entities.Person;
+import com.team.meal.planner.repository.MealRepository;
+import com.team.meal.planner.repository.PersonRepository;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Boots the service on an in-memory H2 database, fires {@code POST /api/signups} from virtual threads and
+ * reports throughput, latency percentiles and the outcome of every request. Afterwards it checks the
+ * signup invariants directly in the database and exits with status 1 when one is broken.
+ * <p>
+ * Each of {@code concurrency} virtual threads sends its next request as soon as the previous one answered
+ * (closed loop), so latency is measured per request and does not include queueing in the client.
+ * A warm-up run against its own people and meals precedes the measured run.
+ */
+public final class SignupLoadTest {
+
+    private final LoadTestOptions options;
+    private final ConfigurableApplicationContext context;
+    private final URI signupsUri;
+
+    private SignupLoadTest(LoadTestOptions options, ConfigurableApplicationContext context, int port) {
+        this.options = options;
+        this.context = context;
+        this.signupsUri = URI.create("http://localhost:" + port + "/api/signups");
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        int status;
+        try (ConfigurableApplicationContext context = boot(options)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            status = new SignupLoadTest(options, context, port).run();
+        }
+        System.exit(status);
+    }
+
+    private static ConfigurableApplicationContext boot(LoadTestOptions options) {
+        return new SpringApplicationBuilder(TeamMealPlannerServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        // row locks in LOCKING mode queue up far longer than H2's default one second
+                        "spring.datasource.url=jdbc:h2:mem:signup-load-test;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+                        "spring.jpa.show-sql=false",
+                        "meal-planner.signup.mode=" + options.mode(),
+                        "spring.threads.virtual.enabled=" + options.threads().equals("virtual"),
+                        "logging.level.com.team.meal.planner=WARN",
+                        // expected constraint violations (day conflicts) would otherwise be logged per request
+                        "logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=OFF")
+                .run();
+    }
+
+    private int run() throws InterruptedException {
+        try (HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build()) {
+            RunResult warmup = drive(http, seed("warmup"), options.warmupRequests());
+            RunResult measured = drive(http, seed("measured"), options.requests());
+            print(measured);
+            List<String> violations = checkInvariants(warmup.count(SignupOutcome.CREATED)
+                    + measured.count(SignupOutcome.CREATED));
+            if (violations.isEmpty()) {
+                System.out.println("Invariants  ok");
+                return 0;
+            }
+            violations.forEach(v -> System.out.println("VIOLATION   " + v));
+            return 1;
+        }
+    }
+
+    private DataSet seed(String label) {
+        PersonRepository personRepository = context.getBean(PersonRepository.class);
+        MealRepository mealRepository = context.getBean(MealRepository.class);
+
+        List<Person> people = new ArrayList<>(options.people());
+        for (int i = 0; i < options.people(); i++) {
+            Person person = new Person();
+            person.setName(label + " person " + i);
+            person.setEmail(label + "-" + i + "@example.com");
+            people.add(person);
+        }
+        List<Meal> meals = new ArrayList<>(options.meals());
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        for (int i = 0; i < options.meals(); i++) {
+            Meal meal = new Meal();
+            meal.setTitle(label + " meal " + i);
+            meal.setCuisine("Load");
+            meal.setDate(firstDay.plusDays(i % options.days()).atTime(LocalTime.NOON));
+            meal.setMaxAttendees(options.capacity());
+            meals.add(meal);
+        }
+        return new DataSet(
+                personRepository.saveAll(people).stream().map(Person::getId).toList(),
+                mealRepository.saveAll(meals).stream().map(Meal::getId).toList());
+    }
+
+    private RunResult drive(HttpClient http, DataSet data, int requests) throws InterruptedException {
+        RunResult result = new RunResult();
+        AtomicInteger remaining = new AtomicInteger(requests);
+        long start = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.concurrency(); i++) {
+                workers.submit(() -> {
+                    while (remaining.getAndDecrement() > 0 && !Thread.currentThread().isInterrupted()) {
+                        signUp(http, data, result);
+                    }
+                });
+            }
+        }
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    private void signUp(HttpClient http, DataSet data, RunResult result) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long personId = data.personIds().get(random.nextInt(data.personIds().size()));
+        Long mealId = data.mealIds().get(random.nextInt(data.mealIds().size()));
+        HttpRequest request = HttpRequest.newBuilder(signupsUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"mealId\":" + mealId + ",\"personId\":" + personId + "}"))
+                .build();
+
+        long start = System.nanoTime();
+        SignupOutcome outcome;
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            outcome = SignupOutcome.of(response.statusCode(), response.body());
+        } catch (IOException ex) {
+            outcome = SignupOutcome.ERROR;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        result.latencyMicros.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        result.outcomes[outcome.ordinal()].increment();
+    }
+
+    private void print(RunResult result) {
+        double seconds = result.elapsedNanos / 1e9;
+        long total = result.latencyMicros.getTotalCount();
+        Histogram latency = result.latencyMicros;
+        System.out.printf("Scenario    %s, %s mode, %s threads: %d meal(s) over %d day(s), capacity %d, %d people, concurrency %d%n",
+                options.scenario(), options.mode(), options.threads(), options.meals(), options.days(), options.capacity(),
+                options.people(), options.concurrency());
+        System.out.printf("Throughput  %d requests in %.2f s = %.1f req/s%n", total, seconds, total / seconds);
+        System.out.printf("Latency ms  p50 %.2f  p95 %.2f  p99 %.2f  p999 %.2f  max %.2f%n",
+                latency.getValueAtPercentile(50) / 1000.0, latency.getValueAtPercentile(95) / 1000.0,
+                latency.getValueAtPercentile(99) / 1000.0, latency.getValueAtPercentile(99.9) / 1000.0,
+                latency.getMaxValue() / 1000.0);
+        StringBuilder outcomes = new StringBuilder("Outcomes   ");
+        for (SignupOutcome outcome : SignupOutcome.values()) {
+            outcomes.append(' ').append(outcome.name().toLowerCase().replace('_', '-'))
+                    .append(' ').append(result.count(outcome));
+        }
+        System.out.println(outcomes);
+    }
+
+    /**
+     * Checks the database after the run, independently of the counters the service maintains.
+     */
+    private List<String> checkInvariants(long createdResponses) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        List<String> violations = new ArrayList<>();
+
+        jdbc.query("""
+                SELECT m.id, m.max_attendees, COUNT(*) AS attendees
+                  FROM meals m JOIN signups s ON s.meal_id = m.id
+                 GROUP BY m.id, m.max_attendees
+                HAVING COUNT(*) > m.max_attendees
+                """, rs -> {
+            violations.add("meal " + rs.getLong("id") + " has " + rs.getLong("attendees")
+                    + " signups for " + rs.getInt("max_attendees") + " seats");
+        });
+        jdbc.query("""
+                SELECT s.person_id, CAST(m.date AS DATE) AS meal_date, COUNT(*) AS meals
+                  FROM signups s JOIN meals m ON m.id = s.meal_id
+                 GROUP BY s.person_id, CAST(m.date AS DATE)
+                HAVING COUNT(*) > 1
+                """, rs -> {
+            violations.add("person " + rs.getLong("person_id") + " has " + rs.getLong("meals")
+                    + " meals on " + rs.getDate("meal_date"));
+        });
+        Long drifted = jdbc.queryForObject("""
+                SELECT COUNT(*) FROM meals m
+                 WHERE m.attendee_count <> (SELECT COUNT(*) FROM signups s WHERE s.meal_id = m.id)
+                """, Long.class);
+        if (drifted != null && drifted > 0) {
+            violations.add(drifted + " meal(s) with attendee_count out of line with their signups");
+        }
+        Long signups = jdbc.queryForObject("SELECT COUNT(*) FROM signups", Long.class);
+        if (signups == null || signups != createdResponses) {
+            violations.add(signups + " signups stored but " + createdResponses + " answered 201 Created");
+        }
+        return violations;
+    }
+
+    private record DataSet(List<Long> personIds, List<Long> mealIds) {
+    }
+
+    private static final class RunResult {
+
+        final Histogram latencyMicros = new ConcurrentHistogram(3);
+        final LongAdder[] outcomes = new LongAdder[SignupOutcome.values().length];
+        long elapsedNanos;
+
+        RunResult() {
+            for (int i = 0; i < outcomes.length; i++) {
+                outcomes[i] = new LongAdder();
+            }
+        }
+
+        long count(SignupOutcome outcome) {
+            return outcomes[outcome.ordinal()].sum();
+        }
+    }
+}
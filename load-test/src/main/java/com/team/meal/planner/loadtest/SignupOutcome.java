@@ -0,0 +1,38 @@
+package com.team.meal.planner.loadtest;
+
+/**
+ * What a {@code POST /api/signups} answered, told apart by status and the error message of the service.
+ */
+enum SignupOutcome {
+
+    /** 201, a new signup. */
+    CREATED,
+
+    /** 200, the person already had this signup. */
+    DUPLICATE,
+
+    /** 409, no seat left. */
+    FULL,
+
+    /** 409, the person already has another meal that day. */
+    DAY_CONFLICT,
+
+    /** Any other 409, e.g. retries exhausted in LOCK_FREE mode. */
+    OTHER_CONFLICT,
+
+    /** Anything else: 4xx/5xx or an I/O failure. */
+    ERROR;
+
+    static SignupOutcome of(int status, String body) {
+        return switch (status) {
+            case 201 -> CREATED;
+            case 200 -> DUPLICATE;
+            case 409 -> {
+                if (body.contains("Meal is full")) yield FULL;
+                if (body.contains("another meal on this day")) yield DAY_CONFLICT;
+                yield OTHER_CONFLICT;
+            }
+            default -> ERROR;
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.team.meal.planner.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    public static final String EMAIL_EXECUTOR = "emailExecutor";
+    public static final String MEAL_STREAM_EXECUTOR = "mealStreamExecutor";
+
+    /**
+     * Fixed pool with a bounded queue on which NotificationOutboxDispatcher sends a claimed batch, so
+     * concurrent sends stay capped however large the backlog. When the queue is full the dispatcher thread
+     * sends the email itself. Boot publishes it as {@code executor.*} metrics with {@code name=emailExecutor}.
+     */
+    @Bean(name = EMAIL_EXECUTOR)
+    public ThreadPoolTaskExecutor emailExecutor(@Value("${meal-planner.email.pool-size:4}") int poolSize,
+                                                @Value("${meal-planner.email.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("email-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    /**
+     * Writes events to the subscribers of {@code GET /api/meals/stream}, so a slow client only holds up
+     * one of these threads, and only until {@code meal-planner.meal-stream.write-timeout}, never the thread
+     * that fans changes out. MealCapacityStream runs at most one task per subscriber, so the queue cannot
+     * outgrow the number of open streams.
+     */
+    @Bean(name = MEAL_STREAM_EXECUTOR)
+    public ThreadPoolTaskExecutor mealStreamExecutor(@Value("${meal-planner.meal-stream.pool-size:4}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("meal-stream-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        return executor;
+    }
+}
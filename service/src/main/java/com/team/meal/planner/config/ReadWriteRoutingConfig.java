@@ -0,0 +1,77 @@
+package com.team.meal.planner.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Splits the connection pool in two when {@code meal-planner.datasource.read.enabled} is true: the primary
+ * pool ({@code spring.datasource.*}) serves writes and every transaction not marked read-only, and the read
+ * pool ({@code meal-planner.datasource.read.*}) serves {@code @Transactional(readOnly = true)}, which
+ * includes Spring Data's own read methods. The read pool connects to the primary database unless
+ * {@code meal-planner.datasource.read.url} names a replica. Both pools are published as
+ * {@code hikaricp.connections.*}, tagged with their {@code pool} name.
+ */
+@Configuration
+@ConditionalOnProperty(name = "meal-planner.datasource.read.enabled", havingValue = "true")
+public class ReadWriteRoutingConfig {
+
+    public static final String PRIMARY_DATA_SOURCE = "primaryDataSource";
+    public static final String READ_DATA_SOURCE = "readDataSource";
+
+    @Bean(name = PRIMARY_DATA_SOURCE)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(name = READ_DATA_SOURCE)
+    @ConfigurationProperties("meal-planner.datasource.read.hikari")
+    public HikariDataSource readDataSource(DataSourceProperties properties,
+                                           @Value("${meal-planner.datasource.read.url:}") String url,
+                                           @Value("${meal-planner.datasource.read.username:}") String username,
+                                           @Value("${meal-planner.datasource.read.password:}") String password) {
+        // username and password are taken from the primary as a pair, so a replica user may have no password
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url.isEmpty() ? properties.determineUrl() : url)
+                .username(username.isEmpty() ? properties.determineUsername() : username)
+                .password(username.isEmpty() ? properties.determinePassword() : password)
+                .build();
+    }
+
+    /**
+     * The data source JPA, Flyway and JdbcTemplate use.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier(PRIMARY_DATA_SOURCE) DataSource primary,
+                                 @Qualifier(READ_DATA_SOURCE) DataSource read,
+                                 MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, read, meterRegistry));
+    }
+
+    /**
+     * Spring sets Hibernate to keep a session's connection until the session closes, and with
+     * open-in-view that is the end of the request. The route is then whatever the first transaction
+     * needed. Releasing the connection after each transaction lets every transaction pick its own route.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,91 @@
+package com.team.meal.planner.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Hands out connections of the read pool inside read-only transactions and of the primary pool otherwise.
+ * It has to sit behind a {@code LazyConnectionDataSourceProxy}: the transaction manager asks for its
+ * connection before the transaction is marked read-only, and the proxy defers the choice to the first
+ * statement.
+ * <p>
+ * {@link #pinPrimary()} keeps the current thread on the primary even in read-only transactions, for reads
+ * that must see what was just committed. The helpers are static so that callers work the same whether
+ * routing is enabled or not.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Physical connections handed out, tagged {@code route} = primary or read.
+     */
+    static final String CONNECTIONS_COUNTER = "mealplanner.datasource.connections";
+
+    public enum Route { PRIMARY, READ }
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final Counter primaryConnections;
+    private final Counter readConnections;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource read, MeterRegistry meterRegistry) {
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.READ, read));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+        this.primaryConnections = connections(meterRegistry, Route.PRIMARY);
+        this.readConnections = connections(meterRegistry, Route.READ);
+    }
+
+    private static Counter connections(MeterRegistry meterRegistry, Route route) {
+        return Counter.builder(CONNECTIONS_COUNTER)
+                .description("Connections handed out by the read/write routing data source, by route")
+                .tag("route", route.name().toLowerCase())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Where a connection requested now would come from.
+     */
+    public static Route currentRoute() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && PINNED.get() == null
+                ? Route.READ
+                : Route.PRIMARY;
+    }
+
+    /**
+     * Sends this thread's reads to the primary until the returned pin is closed; nested pins are no-ops.
+     */
+    public static Pin pinPrimary() {
+        if (PINNED.get() != null) {
+            return () -> { };
+        }
+        PINNED.set(Boolean.TRUE);
+        return PINNED::remove;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRoute();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        (currentRoute() == Route.READ ? readConnections : primaryConnections).increment();
+        return super.getConnection();
+    }
+
+    /**
+     * Restores the routing that was in place before {@link #pinPrimary()}.
+     */
+    @FunctionalInterface
+    public interface Pin extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
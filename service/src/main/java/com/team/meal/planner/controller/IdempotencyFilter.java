@@ -0,0 +1,278 @@
+package com.team.meal.planner.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.team.meal.planner.exception.ErrorResponse;
+import com.team.meal.planner.service.IdempotencyStore;
+import com.team.meal.planner.service.IdempotencyStore.Reservation;
+import com.team.meal.planner.service.IdempotencyStore.StoredResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Honours the {@code Idempotency-Key} header on {@code meal-planner.idempotency.paths} (POSTs only): the first
+ * request with a key runs and its response is recorded in the {@link IdempotencyStore}; a retry with the same
+ * key and the same method, path and body gets the recorded status and body back, marked with
+ * {@code Idempotent-Replayed: true}, without running again. A retry that arrives while the first request is
+ * still running waits up to {@code wait-timeout} for it. Reusing a key for a different request is a 422.
+ * Server errors are not recorded, so a retry after a 5xx runs again.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    /**
+     * Requests with an {@code Idempotency-Key}, tagged {@code result} = executed, replayed, mismatch or timeout.
+     */
+    static final String REQUESTS_COUNTER = "mealplanner.idempotency.requests";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Set<String> paths;
+    private final Duration waitTimeout;
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter mismatched;
+    private final Counter timedOut;
+
+    public IdempotencyFilter(IdempotencyStore store,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${meal-planner.idempotency.paths:/api/signups,/api/meals}") Set<String> paths,
+                             @Value("${meal-planner.idempotency.wait-timeout:PT10S}") Duration waitTimeout) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.paths = Set.copyOf(paths);
+        this.waitTimeout = waitTimeout;
+        this.executed = requests(meterRegistry, "executed");
+        this.replayed = requests(meterRegistry, "replayed");
+        this.mismatched = requests(meterRegistry, "mismatch");
+        this.timedOut = requests(meterRegistry, "timeout");
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(REQUESTS_COUNTER)
+                .description("Requests carrying an Idempotency-Key, by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(HEADER) == null
+                || !paths.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST,
+                    HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        CachedBodyRequest cached = new CachedBodyRequest(request);
+        String fingerprint = fingerprint(cached);
+
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            Reservation reservation = store.reserve(key, fingerprint);
+            if (reservation.state() != IdempotencyStore.State.ACQUIRED
+                    && !reservation.fingerprint().equals(fingerprint)) {
+                mismatched.increment();
+                writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        HEADER + " was already used for a different request");
+                return;
+            }
+            switch (reservation.state()) {
+                case ACQUIRED -> {
+                    execute(cached, response, chain, reservation);
+                    return;
+                }
+                case COMPLETED -> {
+                    replayed.increment();
+                    replay(reservation.response(), response);
+                    return;
+                }
+                case IN_PROGRESS -> {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        timedOut.increment();
+                        writeError(request, response, HttpStatus.CONFLICT,
+                                "A request with this " + HEADER + " is still in progress, retry later");
+                        return;
+                    }
+                    try {
+                        store.await(reservation, Duration.ofNanos(remaining));
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        throw new ServletException("Interrupted waiting for " + HEADER + " " + key, ex);
+                    }
+                }
+            }
+        }
+    }
+
+    private void execute(CachedBodyRequest request, HttpServletResponse response, FilterChain chain,
+                         Reservation reservation) throws ServletException, IOException {
+        ContentCachingResponseWrapper recorded = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(request, recorded);
+            if (recorded.getStatus() < 500) {
+                store.complete(reservation, new StoredResponse(recorded.getStatus(), recorded.getContentType(),
+                        recorded.getHeader(HttpHeaders.LOCATION), recorded.getContentAsByteArray()));
+                stored = true;
+            }
+            executed.increment();
+        } finally {
+            if (!stored) {
+                store.release(reservation);
+            }
+        }
+        recorded.copyBodyToResponse();
+    }
+
+    private static void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        byte[] body = stored.body() != null ? stored.body() : new byte[0];
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                            String message) throws IOException {
+        ErrorResponse err = new ErrorResponse(LocalDateTime.now(), status.value(), status.getReasonPhrase(),
+                message, request.getRequestURI(), List.of());
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), err);
+    }
+
+    /**
+     * SHA-256 of method, path, query and body: a key replays only for the request it was first used with.
+     */
+    private static String fingerprint(CachedBodyRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + ' ' + request.getRequestURI() + '?'
+                    + (request.getQueryString() != null ? request.getQueryString() : "") + '\n')
+                    .getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(request.body));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Reads the body up front, for the fingerprint, and serves it again to the handler.
+     */
+    static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The whole body is already in memory, so it is available at once; the listener hears that
+                 * all of it was read only if its first turn actually read to the end.
+                 */
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        listener.onDataAvailable();
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException ex) {
+                        listener.onError(ex);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
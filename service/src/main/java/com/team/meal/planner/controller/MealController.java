@@ -1,9 +1,13 @@
 package com.team.meal.planner.controller;
 
+import com.team.meal.planner.dto.CursorPage;
 import com.team.meal.planner.dto.MealCreate;
 import com.team.meal.planner.dto.MealDetails;
+import com.team.meal.planner.dto.MealSummary;
 import com.team.meal.planner.dto.MealUpdate;
 import com.team.meal.planner.entities.Meal;
+import com.team.meal.planner.repository.MealRepository;
+import com.team.meal.planner.service.MealCapacityStream;
 import com.team.meal.planner.service.MealService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,13 +15,18 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import jakarta.validation.Valid;
 import java.net.URI;
 import java.time.LocalDate;
+import java.util.List;
 
 @Tag(name = "Meals", description = "Endpoints for managing meal creation, updates, and listings")
 @RestController
@@ -25,9 +34,11 @@ import java.time.LocalDate;
 public class MealController {
 
     private final MealService mealService;
+    private final MealCapacityStream capacityStream;
 
-    public MealController(MealService mealService) {
+    public MealController(MealService mealService, MealCapacityStream capacityStream) {
         this.mealService = mealService;
+        this.capacityStream = capacityStream;
     }
 
     @Operation(
@@ -56,7 +67,7 @@ public class MealController {
             }
     )
     @GetMapping
-    public ResponseEntity<Page<Meal>> listMeals(
+    public ResponseEntity<Page<MealSummary>> listMeals(
             @RequestParam(required = false) LocalDate dateFrom,
             @RequestParam(required = false) LocalDate dateTo,
             @RequestParam(required = false) String cuisine,
@@ -65,21 +76,75 @@ public class MealController {
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "date,desc") String sort
     ) {
-        return ResponseEntity.ok(mealService.listMeals(dateFrom, dateTo, cuisine, tag, page, size, sort));
+        Page<MealSummary> meals = mealService.listMeals(dateFrom, dateTo, cuisine, tag, page, size, sort);
+        String eTag = MealETags.forPage(meals.getContent(), meals.getNumber(), meals.getSize(), meals.getTotalElements());
+        return ResponseEntity.ok().eTag(eTag).body(meals);
+    }
+
+    @Operation(
+            summary = "List meals by cursor",
+            description = "Keyset-paginated variant of the meal listing, selected by passing a cursor parameter "
+                    + "(empty for the first page, then the returned nextCursor). Ordered by date and id; "
+                    + "use sort=date,asc or date,desc to choose the direction. No total count is computed.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Meals retrieved successfully"),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content)
+            }
+    )
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<MealSummary>> listMealsByCursor(
+            @RequestParam(required = false) LocalDate dateFrom,
+            @RequestParam(required = false) LocalDate dateTo,
+            @RequestParam(required = false) String cuisine,
+            @RequestParam(required = false) String tag,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "date,desc") String sort
+    ) {
+        CursorPage<MealSummary> meals = mealService.scrollMeals(dateFrom, dateTo, cuisine, tag, cursor, size, sort);
+        return ResponseEntity.ok().eTag(MealETags.forPage(meals.getContent(), meals.getNextCursor())).body(meals);
     }
 
     @Operation(
             summary = "Get meal details",
-            description = "Retrieve full meal information including number of attendees",
+            description = "Retrieve full meal information including number of attendees. The ETag changes with "
+                    + "the meal version and attendee count; send it back in If-None-Match to get a 304.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Meal details retrieved",
                             content = @Content(schema = @Schema(implementation = MealDetails.class))),
+                    @ApiResponse(responseCode = "304", description = "Meal unchanged since the given ETag",
+                            content = @Content),
                     @ApiResponse(responseCode = "404", description = "Meal not found", content = @Content)
             }
     )
     @GetMapping("/{id}")
-    public ResponseEntity<MealDetails> getMeal(@PathVariable Long id) {
-        return ResponseEntity.ok(mealService.getMealDetails(id));
+    public ResponseEntity<MealDetails> getMeal(@PathVariable Long id, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            MealRepository.MealVersion current = mealService.getMealVersion(id);
+            if (request.checkNotModified(MealETags.forDetails(current.getVersion(), current.getAttendeeCount()))) {
+                return null;
+            }
+        }
+        MealDetails details = mealService.getMealDetails(id);
+        return ResponseEntity.ok()
+                .eTag(MealETags.forDetails(details.getMeal().getVersion(), details.getAttendeeCount()))
+                .body(details);
+    }
+
+    @Operation(
+            summary = "Stream meal capacity",
+            description = "Server-Sent Events for the given meals (ids=1,2,3). A capacity event with the current "
+                    + "seat counts is sent for each meal first, then after every committed signup, cancellation, "
+                    + "update or delete that touches one; bursts are coalesced into the latest counts. A comment "
+                    + "is sent as a heartbeat while nothing changes.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Event stream opened"),
+                    @ApiResponse(responseCode = "400", description = "No ids or too many ids", content = @Content)
+            }
+    )
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCapacity(@RequestParam List<Long> ids) {
+        return capacityStream.subscribe(ids);
     }
 
     @Operation(
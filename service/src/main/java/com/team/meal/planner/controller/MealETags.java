@@ -0,0 +1,44 @@
+package com.team.meal.planner.controller;
+
+import com.team.meal.planner.dto.MealSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Strong entity tags for meal responses. {@code @Version} alone is not enough: the attendee counter is
+ * changed by bulk updates that do not bump the version, so it is part of every tag.
+ */
+final class MealETags {
+
+    private MealETags() {
+    }
+
+    static String forDetails(Long version, long attendeeCount) {
+        return "\"" + version + "-" + attendeeCount + "\"";
+    }
+
+    /**
+     * Digest of every meal on the page plus {@code pageState} (position, totals, next cursor), so that
+     * the tag changes whenever any byte of the page would.
+     */
+    static String forPage(List<MealSummary> meals, Object... pageState) {
+        StringBuilder raw = new StringBuilder();
+        for (MealSummary meal : meals) {
+            raw.append(meal.getId()).append(':').append(meal.getVersion()).append(':')
+                    .append(meal.getAttendeeCount()).append(';');
+        }
+        for (Object state : pageState) {
+            raw.append('|').append(state);
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(raw.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.team.meal.planner.controller;
+
+import com.team.meal.planner.dto.MealImportReport;
+import com.team.meal.planner.service.MealImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@Tag(name = "Meals", description = "Endpoints for managing meal creation, updates, and listings")
+@RestController
+@RequestMapping("/api/meals/import")
+public class MealImportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final MealImportService mealImportService;
+
+    public MealImportController(MealImportService mealImportService) {
+        this.mealImportService = mealImportService;
+    }
+
+    @Operation(
+            summary = "Bulk import meals",
+            description = "Streams meals from NDJSON (one MealCreate object per line) or CSV "
+                    + "(header: title,cuisine,date,tags,maxAttendees; tags separated by '|'). "
+                    + "Valid rows are written in batches; the report lists rows/sec and per-row errors.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Import finished",
+                            content = @Content(schema = @Schema(implementation = MealImportReport.class)))
+            }
+    )
+    @PostMapping(consumes = {NDJSON, "text/csv"})
+    public ResponseEntity<MealImportReport> importMeals(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                        HttpServletRequest request) throws IOException {
+        MealImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.valueOf("text/csv"))
+                ? MealImportService.Format.CSV : MealImportService.Format.NDJSON;
+        return ResponseEntity.ok(mealImportService.importMeals(request.getInputStream(), format));
+    }
+}
@@ -1,7 +1,10 @@
 package com.team.meal.planner.controller;
 
+import com.team.meal.planner.dto.CursorPage;
+import com.team.meal.planner.dto.MealSummary;
 import com.team.meal.planner.dto.PersonCreate;
 import com.team.meal.planner.entities.Person;
+import com.team.meal.planner.service.MealService;
 import com.team.meal.planner.service.PersonService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,6 +17,7 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import jakarta.validation.Valid;
 import java.net.URI;
+import java.time.LocalDate;
 
 @Tag(name = "People", description = "Endpoints for managing people and their dietary preferences")
 @RestController
@@ -21,9 +25,11 @@ import java.net.URI;
 public class PersonController {
 
     private final PersonService personService;
+    private final MealService mealService;
 
-    public PersonController(PersonService personService) {
+    public PersonController(PersonService personService, MealService mealService) {
         this.personService = personService;
+        this.mealService = mealService;
     }
 
     @Operation(
@@ -42,4 +48,26 @@ public class PersonController {
                 .buildAndExpand(saved.getId()).toUri();
         return ResponseEntity.created(location).body(saved);
     }
+
+    @Operation(
+            summary = "List meals a person can attend",
+            description = "Meals in the date range that have not started yet, satisfy the person's dietary "
+                    + "restrictions, still have free seats, and fall on a day the person has no signup yet. "
+                    + "Ordered by date and id; follow nextCursor for the next page.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Eligible meals retrieved successfully"),
+                    @ApiResponse(responseCode = "400", description = "Person not found or invalid cursor",
+                            content = @Content)
+            }
+    )
+    @GetMapping("/{id}/eligible-meals")
+    public ResponseEntity<CursorPage<MealSummary>> listEligibleMeals(
+            @PathVariable Long id,
+            @RequestParam(required = false) LocalDate dateFrom,
+            @RequestParam(required = false) LocalDate dateTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(mealService.listEligibleMeals(id, dateFrom, dateTo, cursor, size));
+    }
 }
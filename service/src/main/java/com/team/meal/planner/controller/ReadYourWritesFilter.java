@@ -0,0 +1,77 @@
+package com.team.meal.planner.controller;
+
+import com.team.meal.planner.config.ReadWriteRoutingDataSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Keeps a client's reads on the primary database for {@code meal-planner.datasource.read.sticky-window}
+ * after it wrote, so it sees its own changes even when the read pool is a replica that lags behind. Every
+ * request that may write (anything but GET, HEAD, OPTIONS and TRACE) runs pinned to the primary and sets
+ * the {@value #COOKIE} cookie to the time the window ends. Later requests carrying an unexpired cookie
+ * are pinned too.
+ */
+@Component
+@ConditionalOnProperty(name = "meal-planner.datasource.read.enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE = "read-primary-until";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final Duration stickyWindow;
+
+    public ReadYourWritesFilter(@Value("${meal-planner.datasource.read.sticky-window:PT5S}") Duration stickyWindow) {
+        this.stickyWindow = stickyWindow;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        if (write) {
+            // set before the handler runs, while the response can still take headers
+            Cookie cookie = new Cookie(COOKIE, Long.toString(now + stickyWindow.toMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(stickyWindow.toSeconds(), 1));
+            response.addCookie(cookie);
+        }
+        if (!write && !wroteUntilAfter(request, now)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try (ReadWriteRoutingDataSource.Pin ignored = ReadWriteRoutingDataSource.pinPrimary()) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    private static boolean wroteUntilAfter(HttpServletRequest request, long now) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > now;
+                } catch (NumberFormatException ex) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
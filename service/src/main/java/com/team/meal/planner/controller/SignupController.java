@@ -1,11 +1,15 @@
 package com.team.meal.planner.controller;
 
+import com.team.meal.planner.dto.SignupBatchCreate;
+import com.team.meal.planner.dto.SignupBatchResponse;
 import com.team.meal.planner.dto.SignupCreate;
 import com.team.meal.planner.dto.SignupResponse;
 import com.team.meal.planner.entities.Signup;
+import com.team.meal.planner.service.SignupBatchService;
 import com.team.meal.planner.service.SignupService;
 import com.team.meal.planner.dto.SignupResult;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -20,14 +24,23 @@ import java.util.List;
 public class SignupController {
 
     private final SignupService signupService;
+    private final SignupBatchService signupBatchService;
 
-    public SignupController(SignupService signupService) {
+    public SignupController(SignupService signupService, SignupBatchService signupBatchService) {
         this.signupService = signupService;
+        this.signupBatchService = signupBatchService;
     }
 
+    /**
+     * 201 with the new signup, 200 with the existing one, or 202 with a {@code WaitlistResponse} when the
+     * meal is full and the waitlist is on.
+     */
     @PostMapping
-    public ResponseEntity<Signup> createSignup(@Valid @RequestBody SignupCreate dto) {
+    public ResponseEntity<?> createSignup(@Valid @RequestBody SignupCreate dto) {
         SignupResult result = signupService.createSignup(dto.getMealId(), dto.getPersonId(), dto.getNote());
+        if (result.isWaitlisted()) {
+            return ResponseEntity.accepted().body(result.getWaitlisted());
+        }
         if (!result.isCreated()) {
             return ResponseEntity.ok(result.getSignup());
         }
@@ -37,17 +50,26 @@ public class SignupController {
         return ResponseEntity.created(location).body(saved);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<SignupBatchResponse> createSignups(@Valid @RequestBody SignupBatchCreate dto) {
+        SignupBatchResponse response = signupBatchService.createSignups(dto.getItems(), dto.isAllOrNothing());
+        HttpStatus status = response.isApplied() ? HttpStatus.OK : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(response);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelSignup(@PathVariable Long id) {
+        signupService.cancelSignup(id);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping
     public ResponseEntity<List<SignupResponse>> listPersonSignups(
             @RequestParam Long personId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
             @RequestParam(defaultValue = "day") String range
     ) {
-        List<Signup> signups = signupService.listPersonSignups(personId, date, range);
-        List<SignupResponse> responses = signups.stream()
-                .map(SignupResponse::new)
-                .toList();
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok(signupService.listPersonSignups(personId, date, range));
     }
 
 }
@@ -0,0 +1,22 @@
+package com.team.meal.planner.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. Pass {@link #getNextCursor()} back as {@code cursor}
+ * to fetch the following page; it is null on the last page.
+ */
+public class CursorPage<T> {
+    private final List<T> content;
+    private final String nextCursor;
+
+    public CursorPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() { return content; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean isHasNext() { return nextCursor != null; }
+    public int getSize() { return content.size(); }
+}
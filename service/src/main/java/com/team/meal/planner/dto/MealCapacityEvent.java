@@ -0,0 +1,45 @@
+package com.team.meal.planner.dto;
+
+import com.team.meal.planner.repository.MealRepository.MealCapacity;
+
+/**
+ * Data of a {@code capacity} event on {@code GET /api/meals/stream}: the seat counts of one meal as of
+ * the latest committed change, or {@code deleted} when the meal no longer exists.
+ */
+public class MealCapacityEvent {
+    private final Long mealId;
+    private final Long version;
+    private final int attendeeCount;
+    private final Integer maxAttendees;
+    private final boolean deleted;
+
+    public MealCapacityEvent(MealCapacity capacity) {
+        this.mealId = capacity.getId();
+        this.version = capacity.getVersion();
+        this.attendeeCount = capacity.getAttendeeCount();
+        this.maxAttendees = capacity.getMaxAttendees();
+        this.deleted = false;
+    }
+
+    private MealCapacityEvent(Long mealId) {
+        this.mealId = mealId;
+        this.version = null;
+        this.attendeeCount = 0;
+        this.maxAttendees = null;
+        this.deleted = true;
+    }
+
+    public static MealCapacityEvent deleted(Long mealId) {
+        return new MealCapacityEvent(mealId);
+    }
+
+    public Long getMealId() { return mealId; }
+    public Long getVersion() { return version; }
+    public int getAttendeeCount() { return attendeeCount; }
+    public Integer getMaxAttendees() { return maxAttendees; }
+    /** {@code null} when the meal has no limit. */
+    public Integer getSeatsLeft() {
+        return maxAttendees == null ? null : Math.max(maxAttendees - attendeeCount, 0);
+    }
+    public boolean isDeleted() { return deleted; }
+}
@@ -0,0 +1,48 @@
+package com.team.meal.planner.dto;
+
+import java.util.List;
+
+public class MealImportReport {
+
+    public static class RowError {
+        private final long line;
+        private final String message;
+
+        public RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() { return line; }
+        public String getMessage() { return message; }
+    }
+
+    private final long rowsRead;
+    private final long imported;
+    private final long failed;
+    private final long elapsedMillis;
+    private final List<RowError> errors;
+
+    public MealImportReport(long rowsRead, long imported, long failed, long elapsedMillis, List<RowError> errors) {
+        this.rowsRead = rowsRead;
+        this.imported = imported;
+        this.failed = failed;
+        this.elapsedMillis = elapsedMillis;
+        this.errors = errors;
+    }
+
+    public long getRowsRead() { return rowsRead; }
+    public long getImported() { return imported; }
+    public long getFailed() { return failed; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    public List<RowError> getErrors() { return errors; }
+
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? rowsRead : rowsRead * 1000.0 / elapsedMillis;
+    }
+
+    /** True when more rows failed than are listed in {@link #getErrors()}. */
+    public boolean isErrorsTruncated() {
+        return failed > errors.size();
+    }
+}
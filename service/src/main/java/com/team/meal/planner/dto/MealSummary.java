@@ -0,0 +1,47 @@
+package com.team.meal.planner.dto;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Read model for meal listings. Built by a JPQL constructor expression so that listing never
+ * materializes {@code Meal} entities; tags are filled in afterwards by one IN-query per page.
+ */
+public class MealSummary {
+    private final Long id;
+    private final String title;
+    private final String cuisine;
+    private final LocalDateTime date;
+    private final Integer maxAttendees;
+    private final int attendeeCount;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final Long version;
+    private Set<String> tags = Set.of();
+
+    public MealSummary(Long id, String title, String cuisine, LocalDateTime date, Integer maxAttendees,
+                       int attendeeCount, LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        this.id = id;
+        this.title = title;
+        this.cuisine = cuisine;
+        this.date = date;
+        this.maxAttendees = maxAttendees;
+        this.attendeeCount = attendeeCount;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
+
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getCuisine() { return cuisine; }
+    public LocalDateTime getDate() { return date; }
+    public Set<String> getTags() { return tags; }
+    public Integer getMaxAttendees() { return maxAttendees; }
+    public int getAttendeeCount() { return attendeeCount; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public Long getVersion() { return version; }
+
+    public void setTags(Set<String> tags) { this.tags = tags; }
+}
@@ -0,0 +1,25 @@
+package com.team.meal.planner.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class SignupBatchCreate {
+
+    @NotEmpty(message = "At least one signup is required")
+    @Size(max = 200, message = "A batch can contain at most 200 signups")
+    private List<@Valid SignupCreate> items;
+
+    /**
+     * When true, the batch is applied only if every item can be created or already exists;
+     * otherwise nothing is written. When false (default), valid items are applied and the rest reported.
+     */
+    private boolean allOrNothing;
+
+    public List<SignupCreate> getItems() { return items; }
+    public void setItems(List<SignupCreate> items) { this.items = items; }
+    public boolean isAllOrNothing() { return allOrNothing; }
+    public void setAllOrNothing(boolean allOrNothing) { this.allOrNothing = allOrNothing; }
+}
@@ -0,0 +1,36 @@
+package com.team.meal.planner.dto;
+
+public class SignupBatchItemResult {
+
+    public enum Status {
+        CREATED,
+        EXISTING,
+        REJECTED,
+        /** Valid, but not written because another item rejected an all-or-nothing batch. */
+        SKIPPED
+    }
+
+    private final int index;
+    private final Long mealId;
+    private final Long personId;
+    private Status status;
+    private Long signupId;
+    private String reason;
+
+    public SignupBatchItemResult(int index, Long mealId, Long personId) {
+        this.index = index;
+        this.mealId = mealId;
+        this.personId = personId;
+    }
+
+    public int getIndex() { return index; }
+    public Long getMealId() { return mealId; }
+    public Long getPersonId() { return personId; }
+    public Status getStatus() { return status; }
+    public Long getSignupId() { return signupId; }
+    public String getReason() { return reason; }
+
+    public void setStatus(Status status) { this.status = status; }
+    public void setSignupId(Long signupId) { this.signupId = signupId; }
+    public void setReason(String reason) { this.reason = reason; }
+}
@@ -0,0 +1,27 @@
+package com.team.meal.planner.dto;
+
+import java.util.List;
+
+public class SignupBatchResponse {
+    private final boolean allOrNothing;
+    private final boolean applied;
+    private final List<SignupBatchItemResult> items;
+
+    public SignupBatchResponse(boolean allOrNothing, boolean applied, List<SignupBatchItemResult> items) {
+        this.allOrNothing = allOrNothing;
+        this.applied = applied;
+        this.items = items;
+    }
+
+    public boolean isAllOrNothing() { return allOrNothing; }
+    public boolean isApplied() { return applied; }
+    public List<SignupBatchItemResult> getItems() { return items; }
+
+    public long getCreated() { return count(SignupBatchItemResult.Status.CREATED); }
+    public long getExisting() { return count(SignupBatchItemResult.Status.EXISTING); }
+    public long getRejected() { return count(SignupBatchItemResult.Status.REJECTED); }
+
+    private long count(SignupBatchItemResult.Status status) {
+        return items.stream().filter(i -> i.getStatus() == status).count();
+    }
+}
@@ -30,6 +30,24 @@ public class SignupResponse {
         }
     }
 
+    /**
+     * Used by the constructor-expression query in {@code SignupRepository}, which reads the meal and
+     * person columns in the same statement instead of walking the lazy associations.
+     */
+    public SignupResponse(Long id, String note, LocalDateTime createdAt,
+                          Long mealId, String mealTitle, String cuisine, LocalDateTime mealDate,
+                          Long personId, String personName) {
+        this.id = id;
+        this.note = note;
+        this.createdAt = createdAt;
+        this.mealId = mealId;
+        this.mealTitle = mealTitle;
+        this.cuisine = cuisine;
+        this.mealDate = mealDate;
+        this.personId = personId;
+        this.personName = personName;
+    }
+
     // Getters only (immutability is fine for a response)
     public Long getId() { return id; }
     public String getNote() { return note; }
@@ -0,0 +1,44 @@
+package com.team.meal.planner.dto;
+
+import com.team.meal.planner.entities.Signup;
+
+public class SignupResult {
+    private final Signup signup;
+    private final boolean created;
+    private final WaitlistResponse waitlisted;
+
+    public SignupResult(Signup signup, boolean created) {
+        this.signup = signup;
+        this.created = created;
+        this.waitlisted = null;
+    }
+
+    private SignupResult(WaitlistResponse waitlisted) {
+        this.signup = null;
+        this.created = false;
+        this.waitlisted = waitlisted;
+    }
+
+    /**
+     * The meal was full and the person is (or already was) on its waitlist; there is no signup yet.
+     */
+    public static SignupResult waitlisted(WaitlistResponse waitlisted) {
+        return new SignupResult(waitlisted);
+    }
+
+    public Signup getSignup() {
+        return signup;
+    }
+
+    public boolean isCreated() {
+        return created;
+    }
+
+    public boolean isWaitlisted() {
+        return waitlisted != null;
+    }
+
+    public WaitlistResponse getWaitlisted() {
+        return waitlisted;
+    }
+}
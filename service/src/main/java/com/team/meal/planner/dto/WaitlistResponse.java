@@ -0,0 +1,27 @@
+package com.team.meal.planner.dto;
+
+import com.team.meal.planner.entities.WaitlistEntry;
+import java.time.LocalDateTime;
+
+public class WaitlistResponse {
+    private final Long id;
+    private final Long mealId;
+    private final Long personId;
+    private final long position;
+    private final LocalDateTime createdAt;
+
+    public WaitlistResponse(WaitlistEntry entry, long position) {
+        this.id = entry.getId();
+        this.mealId = entry.getMeal().getId();
+        this.personId = entry.getPerson().getId();
+        this.position = position;
+        this.createdAt = entry.getCreatedAt();
+    }
+
+    public Long getId() { return id; }
+    public Long getMealId() { return mealId; }
+    public Long getPersonId() { return personId; }
+    /** 1-based place in the queue at the time of the response. */
+    public long getPosition() { return position; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
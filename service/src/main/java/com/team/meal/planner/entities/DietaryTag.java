@@ -0,0 +1,76 @@
+package com.team.meal.planner.entities;
+
+import java.util.Collection;
+
+public enum DietaryTag {
+    VEGETARIAN,
+    VEGAN,
+    HALAL,
+    KOSHER,
+    NUT_FREE,
+    GLUTEN_FREE,
+    NONE;
+
+    /**
+     * Mask of every requirement a meal can satisfy. Untagged meals carry this mask because they are
+     * considered suitable for everyone.
+     */
+    public static final int ALL_MASK = allRequirementsMask();
+
+    private static final DietaryTag[] REQUIREMENTS = {VEGETARIAN, VEGAN, HALAL, KOSHER, NUT_FREE, GLUTEN_FREE};
+
+    /**
+     * Bit of this requirement in a dietary mask; {@link #NONE} has no bit.
+     */
+    public int bit() {
+        return this == NONE ? 0 : 1 << ordinal();
+    }
+
+    private static int allRequirementsMask() {
+        int mask = 0;
+        for (DietaryTag tag : values()) {
+            mask |= tag.bit();
+        }
+        return mask;
+    }
+
+    /**
+     * Dietary mask of a person: one bit per requirement.
+     */
+    public static int maskOf(Collection<DietaryTag> tags) {
+        int mask = 0;
+        if (tags != null) {
+            for (DietaryTag tag : tags) {
+                if (tag != null) {
+                    mask |= tag.bit();
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Dietary mask of a meal: the requirements its free-text tags satisfy. A tag satisfies a requirement
+     * when it equals the requirement's name or starts with it followed by {@code _}, case-insensitively,
+     * so {@code VEGAN_OPTIONS} satisfies {@link #VEGAN}.
+     */
+    public static int mealMaskOf(Collection<String> mealTags) {
+        if (mealTags == null || mealTags.isEmpty()) {
+            return ALL_MASK;
+        }
+        int mask = 0;
+        for (String mealTag : mealTags) {
+            if (mealTag == null) {
+                continue;
+            }
+            for (DietaryTag tag : REQUIREMENTS) {
+                String name = tag.name();
+                if (mealTag.regionMatches(true, 0, name, 0, name.length())
+                        && (mealTag.length() == name.length() || mealTag.charAt(name.length()) == '_')) {
+                    mask |= tag.bit();
+                }
+            }
+        }
+        return mask;
+    }
+}
@@ -1,7 +1,9 @@
 package com.team.meal.planner.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.util.Locale;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -9,8 +11,12 @@ import java.util.Set;
 @Table(name = "meals")
 public class Meal {
 
+    /**
+     * Pooled sequence rather than IDENTITY so Hibernate can batch meal (and meal_tags) inserts.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "meal_seq")
+    @SequenceGenerator(name = "meal_seq", sequenceName = "meal_seq", allocationSize = 50)
     private Long id;
 
     private LocalDateTime date;
@@ -19,13 +25,33 @@ public class Meal {
 
     private String cuisine;
 
+    /**
+     * Lower-cased {@link #cuisine}, so the case-insensitive cuisine filter can use an index.
+     */
+    @Column(name = "cuisine_key")
+    private String cuisineKey;
+
     @ElementCollection
     @CollectionTable(name = "meal_tags", joinColumns = @JoinColumn(name = "meal_id"))
     @Column(name = "tag")
     private Set<String> tags = new HashSet<>();
 
+    /**
+     * {@link DietaryTag#mealMaskOf} of {@link #tags}, recomputed whenever the meal is written.
+     */
+    @Column(name = "dietary_mask", nullable = false)
+    private int dietaryMask = DietaryTag.ALL_MASK;
+
     private Integer maxAttendees;
 
+    /**
+     * Denormalized number of signups. Maintained only through the conditional
+     * UPDATE statements in {@code MealRepository}, never through entity writes,
+     * so a stale in-memory copy cannot overwrite a concurrent increment.
+     */
+    @Column(name = "attendee_count", nullable = false, updatable = false)
+    private int attendeeCount;
+
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
@@ -37,11 +63,13 @@ public class Meal {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = createdAt;
+        dietaryMask = DietaryTag.mealMaskOf(tags);
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        dietaryMask = DietaryTag.mealMaskOf(tags);
     }
 
     public Long getId() {
@@ -64,10 +92,24 @@ public class Meal {
         return tags;
     }
 
+    @JsonIgnore
+    public String getCuisineKey() {
+        return cuisineKey;
+    }
+
+    @JsonIgnore
+    public int getDietaryMask() {
+        return dietaryMask;
+    }
+
     public Integer getMaxAttendees() {
         return maxAttendees;
     }
 
+    public int getAttendeeCount() {
+        return attendeeCount;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -90,10 +132,12 @@ public class Meal {
 
     public void setCuisine(String cuisine) {
         this.cuisine = cuisine;
+        this.cuisineKey = cuisine != null ? cuisine.toLowerCase(Locale.ROOT) : null;
     }
 
     public void setTags(Set<String> tags) {
         this.tags = tags;
+        this.dietaryMask = DietaryTag.mealMaskOf(tags);
     }
 
     public void setMaxAttendees(Integer maxAttendees) {
@@ -1,12 +1,16 @@
 package com.team.meal.planner.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.HashSet;
-import java.util.Objects;
 import java.util.Set;
 
 @Entity
 @Table(name = "persons")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "persons")
 public class Person {
 
     @Id
@@ -21,8 +25,22 @@ public class Person {
     @CollectionTable(name = "person_dietary_tags", joinColumns = @JoinColumn(name = "person_id"))
     @Enumerated(EnumType.STRING)
     @Column(name = "dietary_tag")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "person-dietary-tags")
     private Set<DietaryTag> dietaryTags = new HashSet<>();
 
+    /**
+     * {@link DietaryTag#maskOf} of {@link #dietaryTags}, so suitability checks and queries never
+     * need to load the collection.
+     */
+    @Column(name = "dietary_mask", nullable = false)
+    private int dietaryMask;
+
+    @PrePersist
+    @PreUpdate
+    protected void computeDietaryMask() {
+        dietaryMask = DietaryTag.maskOf(dietaryTags);
+    }
+
     public Long getId() {
         return id;
     }
@@ -39,6 +57,11 @@ public class Person {
         return dietaryTags;
     }
 
+    @JsonIgnore
+    public int getDietaryMask() {
+        return dietaryMask;
+    }
+
     public void setName(String name) {
         this.name = name;
     }
@@ -49,19 +72,13 @@ public class Person {
 
     public void setDietaryTags(Set<DietaryTag> dietaryTags) {
         this.dietaryTags = dietaryTags;
+        computeDietaryMask();
     }
 
-    public boolean isMealSuitable(Set<String> mealTags) {
-        if (mealTags == null || mealTags.isEmpty()) return true;
-        for (DietaryTag tag : dietaryTags) {
-            if (tag == DietaryTag.NONE) continue;
-            boolean satisfied = mealTags.stream()
-                    .filter(Objects::nonNull)
-                    .anyMatch(mealTag ->
-                            mealTag.equalsIgnoreCase(tag.name()) ||
-                                    mealTag.toUpperCase().startsWith(tag.name() + "_"));
-            if (!satisfied) return false;
-        }
-        return true;
+    /**
+     * A meal is suitable when it satisfies every one of this person's requirements.
+     */
+    public boolean isMealSuitable(Meal meal) {
+        return (dietaryMask & ~meal.getDietaryMask()) == 0;
     }
 }
@@ -0,0 +1,96 @@
+package com.team.meal.planner.entities;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "signups", uniqueConstraints = {
+        @UniqueConstraint(name = Signup.MEAL_PERSON_CONSTRAINT, columnNames = {"meal_id", "person_id"}),
+        @UniqueConstraint(name = Signup.PERSON_DAY_CONSTRAINT, columnNames = {"person_id", "meal_day"})
+})
+public class Signup {
+
+    public static final String MEAL_PERSON_CONSTRAINT = "uk_signups_meal_person";
+    public static final String PERSON_DAY_CONSTRAINT = "uk_signups_person_day";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "meal_id", nullable = false)
+    private Meal meal;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "person_id", nullable = false)
+    private Person person;
+
+    /**
+     * Calendar day of the meal, copied from {@link Meal#getDate()} so that "one meal per person per day"
+     * is enforced by {@link #PERSON_DAY_CONSTRAINT}. Kept in sync when a meal is moved.
+     */
+    @Column(name = "meal_day", nullable = false)
+    private LocalDate mealDay;
+
+    @Column(length = 500)
+    private String note;
+
+    private LocalDateTime createdAt;
+
+    @Version
+    private Long version;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Meal getMeal() {
+        return meal;
+    }
+
+    public void setMeal(Meal meal) {
+        this.meal = meal;
+    }
+
+    public Person getPerson() {
+        return person;
+    }
+
+    public void setPerson(Person person) {
+        this.person = person;
+    }
+
+    public LocalDate getMealDay() {
+        return mealDay;
+    }
+
+    public void setMealDay(LocalDate mealDay) {
+        this.mealDay = mealDay;
+    }
+
+    public String getNote() {
+        return note;
+    }
+
+    public void setNote(String note) {
+        this.note = note;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
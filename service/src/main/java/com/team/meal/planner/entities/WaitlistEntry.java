@@ -3,11 +3,16 @@ package com.team.meal.planner.entities;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
+/**
+ * A person waiting for a seat at a full meal. Entries are promoted to {@link Signup}s in id order.
+ */
 @Entity
-@Table(name = "signups", uniqueConstraints = {
-        @UniqueConstraint(columnNames = {"meal_id", "person_id"})
+@Table(name = "waitlist_entries", uniqueConstraints = {
+        @UniqueConstraint(name = WaitlistEntry.MEAL_PERSON_CONSTRAINT, columnNames = {"meal_id", "person_id"})
 })
-public class Signup {
+public class WaitlistEntry {
+
+    public static final String MEAL_PERSON_CONSTRAINT = "uk_waitlist_meal_person";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -26,9 +31,6 @@ public class Signup {
 
     private LocalDateTime createdAt;
 
-    @Version
-    private Long version;
-
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -65,12 +67,4 @@ public class Signup {
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
-
-    public Long getVersion() {
-        return version;
-    }
-
-    public void setVersion(Long version) {
-        this.version = version;
-    }
 }
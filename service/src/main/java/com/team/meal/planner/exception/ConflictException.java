@@ -8,5 +8,12 @@ public class ConflictException extends RuntimeException {
     public ConflictException(String message) {
         super(message);
     }
+
+    /**
+     * For rejections thrown often enough that filling in a stack trace would dominate their cost.
+     */
+    protected ConflictException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
 
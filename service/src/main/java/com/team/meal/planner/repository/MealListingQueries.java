@@ -0,0 +1,34 @@
+package com.team.meal.planner.repository;
+
+import com.team.meal.planner.dto.MealSummary;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Meal listings in which every filter is optional; a {@code null} filter is left out. The SQL is written
+ * with only the filters that were given, because a catch-all predicate such as
+ * {@code (:cuisine IS NULL OR m.cuisineKey = LOWER(:cuisine))} keeps the database off the cuisine and tag
+ * indexes even when a value is bound.
+ */
+public interface MealListingQueries {
+
+    Page<MealSummary> findByFilters(LocalDateTime dateFrom, LocalDateTime dateTo, String cuisine, String tag,
+                                    Pageable pageable);
+
+    /**
+     * Keyset page in ascending {@code (date, id)} order, starting after the given row
+     * (pass nulls for the first page). No count query is issued.
+     */
+    List<MealSummary> findPageAfterAscending(LocalDateTime dateFrom, LocalDateTime dateTo, String cuisine,
+                                             String tag, LocalDateTime afterDate, Long afterId, Limit limit);
+
+    /**
+     * Descending counterpart of {@link #findPageAfterAscending}.
+     */
+    List<MealSummary> findPageAfterDescending(LocalDateTime dateFrom, LocalDateTime dateTo, String cuisine,
+                                              String tag, LocalDateTime afterDate, Long afterId, Limit limit);
+}
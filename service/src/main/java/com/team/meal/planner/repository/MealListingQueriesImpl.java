@@ -0,0 +1,113 @@
+package com.team.meal.planner.repository;
+
+import com.team.meal.planner.dto.MealSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class MealListingQueriesImpl implements MealListingQueries {
+
+    private static final String SELECT_SUMMARY = """
+        SELECT new com.team.meal.planner.dto.MealSummary(m.id, m.title, m.cuisine, m.date, m.maxAttendees,
+                   m.attendeeCount, m.createdAt, m.updatedAt, m.version)
+          FROM Meal m""";
+
+    private final EntityManager entityManager;
+
+    MealListingQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<MealSummary> findByFilters(LocalDateTime dateFrom, LocalDateTime dateTo, String cuisine, String tag,
+                                           Pageable pageable) {
+        Filter filter = new Filter(dateFrom, dateTo, cuisine, tag);
+        TypedQuery<MealSummary> query = filter.bind(entityManager.createQuery(
+                QueryUtils.applySorting(SELECT_SUMMARY + filter.where(), pageable.getSort(), "m"), MealSummary.class));
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> filter.bind(
+                entityManager.createQuery("SELECT COUNT(m) FROM Meal m" + filter.where(), Long.class))
+                .getSingleResult());
+    }
+
+    @Override
+    public List<MealSummary> findPageAfterAscending(LocalDateTime dateFrom, LocalDateTime dateTo, String cuisine,
+                                                    String tag, LocalDateTime afterDate, Long afterId, Limit limit) {
+        return findPageAfter(new Filter(dateFrom, dateTo, cuisine, tag), afterDate, afterId, limit, true);
+    }
+
+    @Override
+    public List<MealSummary> findPageAfterDescending(LocalDateTime dateFrom, LocalDateTime dateTo, String cuisine,
+                                                     String tag, LocalDateTime afterDate, Long afterId, Limit limit) {
+        return findPageAfter(new Filter(dateFrom, dateTo, cuisine, tag), afterDate, afterId, limit, false);
+    }
+
+    private List<MealSummary> findPageAfter(Filter filter, LocalDateTime afterDate, Long afterId, Limit limit,
+                                            boolean ascending) {
+        if (afterDate != null) {
+            // the bare date bound gives the (date, id) index a place to start; the OR alone would not
+            filter.add(ascending ? "m.date >= :afterDate" : "m.date <= :afterDate", "afterDate", afterDate);
+            filter.add(ascending ? "(m.date > :afterDate OR m.id > :afterId)"
+                    : "(m.date < :afterDate OR m.id < :afterId)", "afterId", afterId);
+        }
+        String direction = ascending ? "ASC" : "DESC";
+        TypedQuery<MealSummary> query = filter.bind(entityManager.createQuery(SELECT_SUMMARY + filter.where()
+                + " ORDER BY m.date " + direction + ", m.id " + direction, MealSummary.class));
+        if (limit.isLimited()) {
+            query.setMaxResults(limit.max());
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * The WHERE clause and parameters for the filters that were given.
+     */
+    private static final class Filter {
+
+        private final List<String> conditions = new ArrayList<>();
+        private final Map<String, Object> parameters = new LinkedHashMap<>();
+
+        Filter(LocalDateTime dateFrom, LocalDateTime dateTo, String cuisine, String tag) {
+            if (dateFrom != null) {
+                add("m.date >= :dateFrom", "dateFrom", dateFrom);
+            }
+            if (dateTo != null) {
+                add("m.date <= :dateTo", "dateTo", dateTo);
+            }
+            if (cuisine != null) {
+                add("m.cuisineKey = LOWER(:cuisine)", "cuisine", cuisine);
+            }
+            if (tag != null) {
+                // uncorrelated, so the tag index finds the meals instead of each meal's tags being searched
+                add("m.id IN (SELECT tm.id FROM Meal tm JOIN tm.tags t WHERE t = :tag)", "tag", tag);
+            }
+        }
+
+        void add(String condition, String name, Object value) {
+            conditions.add(condition);
+            parameters.put(name, value);
+        }
+
+        String where() {
+            return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+        }
+
+        <T> TypedQuery<T> bind(TypedQuery<T> query) {
+            parameters.forEach(query::setParameter);
+            return query;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.team.meal.planner.repository;
+
+import com.team.meal.planner.dto.MealSummary;
+import com.team.meal.planner.entities.Meal;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MealRepository extends JpaRepository<Meal, Long>, MealListingQueries {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Meal m WHERE m.id = :id")
+    Optional<Meal> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Locks several meals at once, always in id order so that concurrent batches cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Meal m WHERE m.id IN :ids ORDER BY m.id")
+    List<Meal> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT m FROM Meal m LEFT JOIN FETCH m.tags WHERE m.id = :id")
+    Optional<Meal> findWithTagsById(@Param("id") Long id);
+
+    /**
+     * Just the fields that make up the meal details ETag, so conditional GETs never load the entity.
+     */
+    @Query("SELECT m.version AS version, m.attendeeCount AS attendeeCount FROM Meal m WHERE m.id = :id")
+    Optional<MealVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * Seat counts of several meals in one query, for the capacity stream. Deleted meals are missing.
+     */
+    @Query("SELECT m.id AS id, m.version AS version, m.attendeeCount AS attendeeCount, "
+            + "m.maxAttendees AS maxAttendees FROM Meal m WHERE m.id IN :ids")
+    List<MealCapacity> findCapacityByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * What the signup admission gate needs to know about a meal, without loading the entity.
+     */
+    @Query("SELECT m.date AS date, m.attendeeCount AS attendeeCount, m.maxAttendees AS maxAttendees, "
+            + "m.dietaryMask AS dietaryMask FROM Meal m WHERE m.id = :id")
+    Optional<MealAdmission> findAdmissionById(@Param("id") Long id);
+
+    /**
+     * Claims one seat. Returns 0 when the meal is already at capacity (or does not exist),
+     * so the check and the increment are a single atomic statement.
+     */
+    @Modifying
+    @Query("""
+        UPDATE Meal m SET m.attendeeCount = m.attendeeCount + 1
+         WHERE m.id = :id
+           AND (m.maxAttendees IS NULL OR m.attendeeCount < m.maxAttendees)
+        """)
+    int incrementAttendeeCount(@Param("id") Long id);
+
+    /**
+     * Same as {@link #incrementAttendeeCount(Long)} but also returns 0 when the meal was moved away
+     * from {@code date}, for callers that read the meal without a lock.
+     */
+    @Modifying
+    @Query("""
+        UPDATE Meal m SET m.attendeeCount = m.attendeeCount + 1
+         WHERE m.id = :id
+           AND m.date = :date
+           AND (m.maxAttendees IS NULL OR m.attendeeCount < m.maxAttendees)
+        """)
+    int incrementAttendeeCountOnDate(@Param("id") Long id, @Param("date") LocalDateTime date);
+
+    @Modifying
+    @Query("""
+        UPDATE Meal m SET m.attendeeCount = m.attendeeCount + :seats
+         WHERE m.id = :id
+           AND (m.maxAttendees IS NULL OR m.attendeeCount + :seats <= m.maxAttendees)
+        """)
+    int addAttendees(@Param("id") Long id, @Param("seats") int seats);
+
+    @Modifying
+    @Query("UPDATE Meal m SET m.attendeeCount = m.attendeeCount - 1 WHERE m.id = :id AND m.attendeeCount > 0")
+    int decrementAttendeeCount(@Param("id") Long id);
+
+    /**
+     * Rewrites every counter that no longer matches the signups table; returns the number of meals repaired.
+     * Declares {@code meals} as its only query space so Hibernate does not drop every second-level cache region.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "meals"))
+    @Query(value = """
+        UPDATE meals m SET attendee_count = (SELECT COUNT(*) FROM signups s WHERE s.meal_id = m.id)
+         WHERE m.attendee_count <> (SELECT COUNT(*) FROM signups s WHERE s.meal_id = m.id)
+        """, nativeQuery = true)
+    int reconcileAttendeeCounts();
+
+    /**
+     * Keyset page, in ascending {@code (date, id)} order, of the meals a person can still sign up for:
+     * the meal satisfies every bit of {@code dietaryMask}, has a free seat, and falls on a day the person
+     * has no signup yet.
+     */
+    @Query("""
+        SELECT new com.team.meal.planner.dto.MealSummary(m.id, m.title, m.cuisine, m.date, m.maxAttendees,
+                   m.attendeeCount, m.createdAt, m.updatedAt, m.version)
+          FROM Meal m
+         WHERE m.date >= :dateFrom
+           AND (:dateTo IS NULL OR m.date <= :dateTo)
+           AND bitand(m.dietaryMask, cast(:dietaryMask as Integer)) = :dietaryMask
+           AND (m.maxAttendees IS NULL OR m.attendeeCount < m.maxAttendees)
+           AND NOT EXISTS (SELECT 1 FROM Signup s
+                            WHERE s.person.id = :personId AND s.mealDay = cast(m.date as LocalDate))
+           AND (:afterDate IS NULL OR m.date > :afterDate OR (m.date = :afterDate AND m.id > :afterId))
+         ORDER BY m.date ASC, m.id ASC
+        """)
+    List<MealSummary> findEligiblePageAfter(
+            @Param("personId") Long personId,
+            @Param("dietaryMask") int dietaryMask,
+            @Param("dateFrom") LocalDateTime dateFrom,
+            @Param("dateTo") LocalDateTime dateTo,
+            @Param("afterDate") LocalDateTime afterDate,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    /**
+     * All tags of the given meals in one query, for attaching to a page of {@link MealSummary}.
+     */
+    @Query("SELECT m.id AS mealId, t AS tag FROM Meal m JOIN m.tags t WHERE m.id IN :ids")
+    List<MealTag> findTagsByMealIdIn(@Param("ids") Collection<Long> ids);
+
+    interface MealTag {
+        Long getMealId();
+        String getTag();
+    }
+
+    interface MealVersion {
+        Long getVersion();
+        int getAttendeeCount();
+    }
+
+    interface MealAdmission {
+        LocalDateTime getDate();
+        int getAttendeeCount();
+        Integer getMaxAttendees();
+        int getDietaryMask();
+    }
+
+    interface MealCapacity {
+        Long getId();
+        Long getVersion();
+        int getAttendeeCount();
+        Integer getMaxAttendees();
+    }
+}
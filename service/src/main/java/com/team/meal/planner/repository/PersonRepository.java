@@ -2,9 +2,15 @@ package com.team.meal.planner.repository;
 
 import com.team.meal.planner.entities.Person;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface PersonRepository extends JpaRepository<Person, Long> {
-}
 
+    @Query("SELECT p.dietaryMask FROM Person p WHERE p.id = :id")
+    Optional<Integer> findDietaryMaskById(@Param("id") Long id);
+}
@@ -0,0 +1,53 @@
+package com.team.meal.planner.repository;
+
+import com.team.meal.planner.dto.SignupResponse;
+import com.team.meal.planner.entities.Signup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+@Repository
+public interface SignupRepository extends JpaRepository<Signup, Long> {
+
+    // The lookups below compare the foreign key columns directly; the derived-query equivalents join the
+    // persons table, which would defeat the second-level cache on Person.
+    @Query("SELECT s FROM Signup s WHERE s.meal.id = :mealId AND s.person.id = :personId")
+    Optional<Signup> findByMealIdAndPersonId(@Param("mealId") Long mealId, @Param("personId") Long personId);
+
+    boolean existsByMealId(Long mealId);
+
+    @Query("SELECT s.person.id FROM Signup s WHERE s.meal.id = :mealId")
+    List<Long> findPersonIdsByMealId(@Param("mealId") Long mealId);
+
+    @Query("SELECT count(s) > 0 FROM Signup s WHERE s.person.id = :personId AND s.mealDay = :mealDay")
+    boolean existsByPersonIdAndMealDay(@Param("personId") Long personId, @Param("mealDay") LocalDate mealDay);
+
+    @Query("SELECT s FROM Signup s WHERE s.meal.id IN :mealIds AND s.person.id IN :personIds")
+    List<Signup> findByMealIdInAndPersonIdIn(@Param("mealIds") Collection<Long> mealIds,
+                                             @Param("personIds") Collection<Long> personIds);
+
+    @Query("SELECT s FROM Signup s WHERE s.person.id IN :personIds AND s.mealDay IN :mealDays")
+    List<Signup> findByPersonIdInAndMealDayIn(@Param("personIds") Collection<Long> personIds,
+                                              @Param("mealDays") Collection<LocalDate> mealDays);
+
+    @Query("SELECT new com.team.meal.planner.dto.SignupResponse(s.id, s.note, s.createdAt, " +
+            "m.id, m.title, m.cuisine, m.date, p.id, p.name) " +
+            "FROM Signup s JOIN s.meal m JOIN s.person p " +
+            "WHERE p.id = :personId AND m.date BETWEEN :start AND :end " +
+            "ORDER BY m.date, s.id")
+    List<SignupResponse> findResponsesByPersonIdAndDateBetween(@Param("personId") Long personId,
+                                                       @Param("start") LocalDateTime start,
+                                                       @Param("end") LocalDateTime end);
+
+    @Modifying
+    @Query("UPDATE Signup s SET s.mealDay = :mealDay WHERE s.meal.id = :mealId")
+    int updateMealDay(@Param("mealId") Long mealId, @Param("mealDay") LocalDate mealDay);
+}
+
@@ -0,0 +1,27 @@
+package com.team.meal.planner.repository;
+
+import com.team.meal.planner.entities.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    // Foreign key columns are compared directly, as in SignupRepository, so Person stays in the L2 cache.
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.meal.id = :mealId AND w.person.id = :personId")
+    Optional<WaitlistEntry> findByMealIdAndPersonId(@Param("mealId") Long mealId, @Param("personId") Long personId);
+
+    /**
+     * 1-based position of an entry: the entries of its meal that were added before it, plus itself.
+     */
+    @Query("SELECT count(w) FROM WaitlistEntry w WHERE w.meal.id = :mealId AND w.id <= :id")
+    long countByMealIdAndIdLessThanEqual(@Param("mealId") Long mealId, @Param("id") Long id);
+
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.meal.id = :mealId ORDER BY w.id")
+    List<WaitlistEntry> findByMealIdOrderById(@Param("mealId") Long mealId);
+}
@@ -0,0 +1,39 @@
+package com.team.meal.planner.service;
+
+import com.team.meal.planner.repository.MealRepository;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Periodically recomputes {@code meals.attendee_count} from the signups table so that
+ * any drift (manual data fixes, partially applied scripts) is repaired.
+ */
+@Service
+public class AttendeeCountReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(AttendeeCountReconciler.class);
+
+    private final MealRepository mealRepository;
+    private final ApplicationEventPublisher events;
+
+    public AttendeeCountReconciler(MealRepository mealRepository, ApplicationEventPublisher events) {
+        this.mealRepository = mealRepository;
+        this.events = events;
+    }
+
+    @Scheduled(fixedDelayString = "${meal-planner.attendee-count.reconcile-interval:PT10M}",
+            initialDelayString = "${meal-planner.attendee-count.reconcile-interval:PT10M}")
+    @Transactional
+    public int reconcile() {
+        int repaired = mealRepository.reconcileAttendeeCounts();
+        if (repaired > 0) {
+            log.warn("Repaired attendee count drift on {} meal(s)", repaired);
+            events.publishEvent(MealChangedEvent.allMeals());
+        }
+        return repaired;
+    }
+}
@@ -0,0 +1,22 @@
+package com.team.meal.planner.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Delivers notification emails on behalf of {@link NotificationOutboxDispatcher}. Implementations are
+ * called outside any transaction and may block; a thrown exception schedules the message for another
+ * attempt. {@link LoggingEmailService} is the local stub.
+ */
+public interface EmailService {
+
+    void sendSignupConfirmation(String recipientEmail, String mealTitle);
+
+    /**
+     * One email confirming several signups of the same person, in meal date order.
+     */
+    void sendSignupDigest(String recipientEmail, List<MealLine> meals);
+
+    record MealLine(String title, LocalDateTime date) {
+    }
+}
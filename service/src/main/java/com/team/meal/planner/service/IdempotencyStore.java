@@ -0,0 +1,55 @@
+package com.team.meal.planner.service;
+
+import java.time.Duration;
+
+/**
+ * Responses recorded under an {@code Idempotency-Key}, so a retried request is answered with the original
+ * response instead of running again. A key is reserved before its request runs and completed with the
+ * response, or released when the request failed and may be tried again. Selected with
+ * {@code meal-planner.idempotency.store}: {@code memory} (one node) or {@code jdbc} (shared by all nodes).
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Reserves the key for a request with the given fingerprint, or reports who holds it.
+     */
+    Reservation reserve(String key, String fingerprint);
+
+    /**
+     * Waits up to {@code timeout} for a key held by another request to be completed or released.
+     */
+    void await(Reservation reservation, Duration timeout) throws InterruptedException;
+
+    /**
+     * Records the response of the request that holds the reservation.
+     */
+    void complete(Reservation reservation, StoredResponse response);
+
+    /**
+     * Gives the key up without a response, so the next request with it runs.
+     */
+    void release(Reservation reservation);
+
+    enum State {
+        /** The caller holds the key and runs the request. */
+        ACQUIRED,
+        /** Another request holds the key and is still running. */
+        IN_PROGRESS,
+        /** The key has a recorded response. */
+        COMPLETED
+    }
+
+    /**
+     * @param fingerprint the fingerprint the key was first used with
+     * @param response    the recorded response when {@code COMPLETED}
+     * @param handle      store-specific token identifying the holder
+     */
+    record Reservation(String key, State state, String fingerprint, StoredResponse response, Object handle) {
+    }
+
+    /**
+     * What is replayed of a recorded response: status, {@code Content-Type}, {@code Location} and body.
+     */
+    record StoredResponse(int status, String contentType, String location, byte[] body) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.team.meal.planner.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Keys of this node only, in a bounded Caffeine cache that forgets them {@code ttl} after they were first
+ * used. A request waiting for a key blocks on the holder's future rather than polling.
+ * <p>
+ * Only completed keys count towards {@code max-keys}: a key whose request is still running weighs nothing,
+ * so eviction cannot drop it and let a retry run the request a second time. Running keys are bounded by the
+ * requests in flight.
+ */
+@Component
+@ConditionalOnProperty(name = "meal-planner.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, Entry> entries;
+
+    public InMemoryIdempotencyStore(@Value("${meal-planner.idempotency.max-keys:100000}") long maxKeys,
+                                    @Value("${meal-planner.idempotency.ttl:PT24H}") Duration ttl) {
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxKeys)
+                .weigher((String key, Entry entry) -> entry.result.isDone() ? 1 : 0)
+                // completing a key re-inserts it to weigh it again; that must not restart its ttl
+                .expireAfter(Expiry.creating((String key, Entry entry) -> ttl))
+                .build();
+    }
+
+    @Override
+    public Reservation reserve(String key, String fingerprint) {
+        Entry created = new Entry(fingerprint);
+        Entry entry = entries.asMap().putIfAbsent(key, created);
+        if (entry == null) {
+            return new Reservation(key, State.ACQUIRED, fingerprint, null, created);
+        }
+        StoredResponse response = entry.result.getNow(null);
+        return response != null
+                ? new Reservation(key, State.COMPLETED, entry.fingerprint, response, entry)
+                : new Reservation(key, State.IN_PROGRESS, entry.fingerprint, null, entry);
+    }
+
+    @Override
+    public void await(Reservation reservation, Duration timeout) throws InterruptedException {
+        try {
+            ((Entry) reservation.handle()).result.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException | TimeoutException ex) {
+            // the caller looks again either way
+        }
+    }
+
+    @Override
+    public void complete(Reservation reservation, StoredResponse response) {
+        Entry entry = (Entry) reservation.handle();
+        entry.result.complete(response);
+        // now it counts towards max-keys
+        entries.asMap().replace(reservation.key(), entry, entry);
+    }
+
+    @Override
+    public void release(Reservation reservation) {
+        Entry entry = (Entry) reservation.handle();
+        entries.asMap().remove(reservation.key(), entry);
+        // wakes the waiters, who then find the key free
+        entry.result.complete(null);
+    }
+
+    private static final class Entry {
+        final String fingerprint;
+        /** Completed with the response, or with {@code null} when released. */
+        final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+
+        Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.team.meal.planner.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The {@code idempotency_keys} table, so every node sees the same keys. The primary key decides which
+ * request reserves a key; the others poll the row until it is completed or released. A holder that dies
+ * leaves its row {@code IN_PROGRESS} only until {@code lock-timeout}, after which the key may be reserved
+ * again. Expired rows are purged every {@code cleanup-interval}.
+ */
+@Component
+@ConditionalOnProperty(name = "meal-planner.idempotency.store", havingValue = "jdbc")
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final String INSERT =
+            "INSERT INTO idempotency_keys (idempotency_key, fingerprint, state, owner, locked_until, created_at, "
+                    + "expires_at) VALUES (?, ?, 'IN_PROGRESS', ?, ?, ?, ?)";
+
+    private static final String TAKE_OVER =
+            "UPDATE idempotency_keys SET fingerprint = ?, state = 'IN_PROGRESS', owner = ?, locked_until = ?, "
+                    + "response_status = NULL, content_type = NULL, location = NULL, body = NULL, created_at = ?, "
+                    + "expires_at = ? WHERE idempotency_key = ? "
+                    + "AND (expires_at <= ? OR (state = 'IN_PROGRESS' AND locked_until <= ?))";
+
+    private static final String SELECT =
+            "SELECT fingerprint, state, owner, response_status, content_type, location, body "
+                    + "FROM idempotency_keys WHERE idempotency_key = ?";
+
+    private static final String COMPLETE =
+            "UPDATE idempotency_keys SET state = 'COMPLETED', response_status = ?, content_type = ?, location = ?, "
+                    + "body = ? WHERE idempotency_key = ? AND owner = ?";
+
+    private static final String RELEASE =
+            "DELETE FROM idempotency_keys WHERE idempotency_key = ? AND owner = ? AND state = 'IN_PROGRESS'";
+
+    private static final String PURGE = "DELETE FROM idempotency_keys WHERE expires_at <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final Duration lockTimeout;
+    private final Duration pollInterval;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate,
+                                @Value("${meal-planner.idempotency.ttl:PT24H}") Duration ttl,
+                                @Value("${meal-planner.idempotency.lock-timeout:PT1M}") Duration lockTimeout,
+                                @Value("${meal-planner.idempotency.poll-interval:PT0.1S}") Duration pollInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+        this.lockTimeout = lockTimeout;
+        this.pollInterval = pollInterval;
+    }
+
+    @Override
+    public Reservation reserve(String key, String fingerprint) {
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            String owner = UUID.randomUUID().toString();
+            Timestamp at = Timestamp.valueOf(now);
+            Timestamp lockedUntil = Timestamp.valueOf(now.plus(lockTimeout));
+            Timestamp expiresAt = Timestamp.valueOf(now.plus(ttl));
+            try {
+                jdbcTemplate.update(INSERT, key, fingerprint, owner, lockedUntil, at, expiresAt);
+                return new Reservation(key, State.ACQUIRED, fingerprint, null, owner);
+            } catch (DuplicateKeyException ex) {
+                // held, expired or abandoned; the checks below tell which
+            }
+            if (jdbcTemplate.update(TAKE_OVER, fingerprint, owner, lockedUntil, at, expiresAt, key, at, at) == 1) {
+                return new Reservation(key, State.ACQUIRED, fingerprint, null, owner);
+            }
+            List<Reservation> existing = jdbcTemplate.query(SELECT, reservationMapper(key), key);
+            if (!existing.isEmpty()) {
+                return existing.get(0);
+            }
+            // released between the insert and the select: try again
+        }
+    }
+
+    private static RowMapper<Reservation> reservationMapper(String key) {
+        return (rs, rowNum) -> {
+            if (State.COMPLETED.name().equals(rs.getString("state"))) {
+                StoredResponse response = new StoredResponse(rs.getInt("response_status"),
+                        rs.getString("content_type"), rs.getString("location"), rs.getBytes("body"));
+                return new Reservation(key, State.COMPLETED, rs.getString("fingerprint"), response, rs.getString("owner"));
+            }
+            return new Reservation(key, State.IN_PROGRESS, rs.getString("fingerprint"), null, rs.getString("owner"));
+        };
+    }
+
+    @Override
+    public void await(Reservation reservation, Duration timeout) throws InterruptedException {
+        Thread.sleep(Math.max(Math.min(pollInterval.toMillis(), timeout.toMillis()), 1));
+    }
+
+    @Override
+    public void complete(Reservation reservation, StoredResponse response) {
+        jdbcTemplate.update(COMPLETE, response.status(), response.contentType(), response.location(), response.body(),
+                reservation.key(), reservation.handle());
+    }
+
+    @Override
+    public void release(Reservation reservation) {
+        jdbcTemplate.update(RELEASE, reservation.key(), reservation.handle());
+    }
+
+    @Scheduled(fixedDelayString = "${meal-planner.idempotency.cleanup-interval:PT10M}")
+    public int purgeExpired() {
+        return jdbcTemplate.update(PURGE, Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
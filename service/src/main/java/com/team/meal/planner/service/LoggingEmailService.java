@@ -0,0 +1,29 @@
+package com.team.meal.planner.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Stub that only logs each email. Active unless {@code meal-planner.email.transport} names another
+ * transport, whose {@link EmailService} bean then takes its place.
+ */
+@Service
+@ConditionalOnProperty(name = "meal-planner.email.transport", havingValue = "log", matchIfMissing = true)
+public class LoggingEmailService implements EmailService {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingEmailService.class);
+
+    @Override
+    public void sendSignupConfirmation(String recipientEmail, String mealTitle) {
+        log.info("Email stub: notifying {} about signup for meal {}", recipientEmail, mealTitle);
+    }
+
+    @Override
+    public void sendSignupDigest(String recipientEmail, List<MealLine> meals) {
+        log.info("Email stub: notifying {} about signups for {} meals: {}", recipientEmail, meals.size(), meals);
+    }
+}
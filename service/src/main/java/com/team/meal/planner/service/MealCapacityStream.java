@@ -0,0 +1,276 @@
+package com.team.meal.planner.service;
+
+import com.team.meal.planner.config.AsyncConfig;
+import com.team.meal.planner.config.ReadWriteRoutingDataSource;
+import com.team.meal.planner.dto.MealCapacityEvent;
+import com.team.meal.planner.exception.BadRequestException;
+import com.team.meal.planner.repository.MealRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes meal seat counts to {@code GET /api/meals/stream} subscribers. Committed {@link MealChangedEvent}s
+ * only mark a meal as changed; every {@code coalesce-interval} the changed meals are read in one query and
+ * their latest counts handed to the subscribers of each, so a burst of signups costs one read and one event
+ * per subscriber. Each subscriber keeps only the newest unsent count per meal, which bounds its buffer by
+ * the meals it watches however slowly it reads, and is written to on the meal stream executor. A
+ * subscriber whose writes have been blocked for longer than {@code write-timeout} is dropped and its
+ * stream closed, so that a few stalled clients cannot hold every thread of that executor for long.
+ */
+@Component
+public class MealCapacityStream {
+
+    /**
+     * Open streams.
+     */
+    static final String SUBSCRIBERS_GAUGE = "mealplanner.meal.stream.subscribers";
+
+    /**
+     * Events written to streams, tagged {@code type} = capacity or heartbeat.
+     */
+    static final String EVENTS_COUNTER = "mealplanner.meal.stream.events";
+
+    /**
+     * Streams closed because writing to them took longer than {@code write-timeout}.
+     */
+    static final String STALLED_COUNTER = "mealplanner.meal.stream.stalled";
+
+    private final MealRepository mealRepository;
+    private final Executor executor;
+    private final int maxMeals;
+    private final Duration timeout;
+    private final long writeTimeoutNanos;
+    private final Counter capacityCounter;
+    private final Counter heartbeatCounter;
+    private final Counter stalledCounter;
+
+    private final Map<Long, Set<Subscriber>> subscribersByMeal = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+    private final Queue<Subscriber> joined = new ConcurrentLinkedQueue<>();
+
+    public MealCapacityStream(MealRepository mealRepository,
+                              @Qualifier(AsyncConfig.MEAL_STREAM_EXECUTOR) Executor executor,
+                              MeterRegistry meterRegistry,
+                              @Value("${meal-planner.meal-stream.max-meals:100}") int maxMeals,
+                              @Value("${meal-planner.meal-stream.timeout:PT30M}") Duration timeout,
+                              @Value("${meal-planner.meal-stream.write-timeout:PT10S}") Duration writeTimeout) {
+        this.mealRepository = mealRepository;
+        this.executor = executor;
+        this.maxMeals = maxMeals;
+        this.timeout = timeout;
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        Gauge.builder(SUBSCRIBERS_GAUGE, subscribers, Set::size)
+                .description("Open meal capacity streams")
+                .register(meterRegistry);
+        this.capacityCounter = events(meterRegistry, "capacity");
+        this.heartbeatCounter = events(meterRegistry, "heartbeat");
+        this.stalledCounter = Counter.builder(STALLED_COUNTER)
+                .description("Meal capacity streams closed because a write took longer than the write timeout")
+                .register(meterRegistry);
+    }
+
+    private static Counter events(MeterRegistry meterRegistry, String type) {
+        return Counter.builder(EVENTS_COUNTER)
+                .description("Events written to meal capacity streams, by type")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of the given meals. The current counts follow with the next flush; after that an
+     * event is sent whenever a committed change touches one of the meals.
+     */
+    public SseEmitter subscribe(Collection<Long> mealIds) {
+        Set<Long> ids = new LinkedHashSet<>(mealIds);
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            throw new BadRequestException("At least one meal id is required");
+        }
+        if (ids.size() > maxMeals) {
+            throw new BadRequestException("At most " + maxMeals + " meals per stream");
+        }
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeout.toMillis()), Set.copyOf(ids));
+        subscriber.emitter.onCompletion(() -> unsubscribe(subscriber));
+        subscriber.emitter.onTimeout(() -> unsubscribe(subscriber));
+        subscriber.emitter.onError(ex -> unsubscribe(subscriber));
+        subscribers.add(subscriber);
+        for (Long id : subscriber.mealIds) {
+            // added inside the map operation: an unsubscribe dropping the set once it is empty must not
+            // drop it between this lookup and the add
+            subscribersByMeal.compute(id, (k, set) -> {
+                if (set == null) {
+                    set = ConcurrentHashMap.newKeySet();
+                }
+                set.add(subscriber);
+                return set;
+            });
+        }
+        joined.add(subscriber);
+        return subscriber.emitter;
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscribers.remove(subscriber);
+        for (Long id : subscriber.mealIds) {
+            subscribersByMeal.computeIfPresent(id, (k, set) -> {
+                set.remove(subscriber);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMealChanged(MealChangedEvent event) {
+        if (event.mealId() == null) {
+            changed.addAll(subscribersByMeal.keySet());
+        } else if (subscribersByMeal.containsKey(event.mealId())) {
+            changed.add(event.mealId());
+        }
+    }
+
+    /**
+     * Reads the meals changed since the last flush, plus those of new subscribers, and queues their counts
+     * for the subscribers watching them.
+     */
+    @Scheduled(fixedDelayString = "${meal-planner.meal-stream.coalesce-interval:PT0.5S}")
+    public void flush() {
+        dropStalled();
+        Set<Subscriber> newcomers = new HashSet<>();
+        for (Subscriber subscriber; (subscriber = joined.poll()) != null; ) {
+            newcomers.add(subscriber);
+        }
+        Set<Long> ids = new HashSet<>();
+        for (Iterator<Long> it = changed.iterator(); it.hasNext(); ) {
+            ids.add(it.next());
+            it.remove();
+        }
+        newcomers.forEach(s -> ids.addAll(s.mealIds));
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        Map<Long, MealCapacityEvent> current = new HashMap<>();
+        // a replica may not have the change yet, and no later event would correct the count
+        try (ReadWriteRoutingDataSource.Pin ignored = ReadWriteRoutingDataSource.pinPrimary()) {
+            mealRepository.findCapacityByIdIn(ids).forEach(c -> current.put(c.getId(), new MealCapacityEvent(c)));
+        }
+        for (Long id : ids) {
+            MealCapacityEvent event = current.getOrDefault(id, MealCapacityEvent.deleted(id));
+            for (Subscriber subscriber : subscribersByMeal.getOrDefault(id, Set.of())) {
+                subscriber.pending.put(id, event);
+                schedule(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Comments keep idle connections from being closed by proxies and reveal clients that have gone.
+     */
+    @Scheduled(fixedDelayString = "${meal-planner.meal-stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Closes the streams whose current drain has been writing for longer than the write timeout. The
+     * container then aborts the connection, which fails the blocked write and frees its thread.
+     */
+    private void dropStalled() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.drainStarted;
+            if (started != 0 && now - started > writeTimeoutNanos && !subscriber.closed.get()) {
+                unsubscribe(subscriber);
+                stalledCounter.increment();
+                subscriber.emitter.completeWithError(new IOException("Write to meal capacity stream timed out"));
+            }
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.closed.get() && subscriber.draining.compareAndSet(false, true)) {
+            executor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        subscriber.drainStarted = System.nanoTime();
+        try {
+            for (Long id : subscriber.pending.keySet()) {
+                MealCapacityEvent event = subscriber.pending.remove(id);
+                if (event != null) {
+                    subscriber.emitter.send(SseEmitter.event().name("capacity").data(event, MediaType.APPLICATION_JSON));
+                    capacityCounter.increment();
+                }
+            }
+            if (subscriber.heartbeatDue) {
+                subscriber.heartbeatDue = false;
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                heartbeatCounter.increment();
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // client gone or stream already completed
+            unsubscribe(subscriber);
+            subscriber.emitter.completeWithError(ex);
+            return;
+        } finally {
+            subscriber.drainStarted = 0;
+            subscriber.draining.set(false);
+        }
+        // something may have been queued after the loop looked
+        if (!subscriber.pending.isEmpty() || subscriber.heartbeatDue) {
+            schedule(subscriber);
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final Set<Long> mealIds;
+        /** Newest unsent count per meal. */
+        final Map<Long, MealCapacityEvent> pending = new ConcurrentHashMap<>();
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+        volatile boolean heartbeatDue;
+        /** {@link System#nanoTime()} when the running drain started, 0 while none runs. */
+        volatile long drainStarted;
+
+        Subscriber(SseEmitter emitter, Set<Long> mealIds) {
+            this.emitter = emitter;
+            this.mealIds = mealIds;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.team.meal.planner.service;
+
+/**
+ * Published inside the transaction that changed a meal or its signups. Listeners that mirror meal state
+ * outside the database react after commit, so they never observe a change that is later rolled back.
+ * A {@code null} meal id means any meal may have changed.
+ */
+public record MealChangedEvent(Long mealId) {
+
+    public static MealChangedEvent allMeals() {
+        return new MealChangedEvent(null);
+    }
+}
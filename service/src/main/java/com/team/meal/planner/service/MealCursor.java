@@ -0,0 +1,43 @@
+package com.team.meal.planner.service;
+
+import com.team.meal.planner.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination over {@code (date, id)}. It records the sort
+ * direction and the last row of the previous page; clients must treat it as an opaque string.
+ */
+public record MealCursor(boolean ascending, LocalDateTime date, Long id) {
+
+    public static MealCursor first(boolean ascending) {
+        return new MealCursor(ascending, null, null);
+    }
+
+    public static MealCursor decode(String token, boolean ascending) {
+        if (token == null || token.isBlank()) {
+            return first(ascending);
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new MealCursor("a".equals(parts[0]), LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public MealCursor next(LocalDateTime lastDate, Long lastId) {
+        return new MealCursor(ascending, lastDate, lastId);
+    }
+
+    public String encode() {
+        String raw = (ascending ? "a" : "d") + "|" + date + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,71 @@
+package com.team.meal.planner.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.team.meal.planner.dto.MealDetails;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded, time-limited cache of {@link MealDetails} keyed by meal id. Entries are dropped after the
+ * transaction that changed the meal commits.
+ * <p>
+ * A load that read the old state can't put it back after an invalidation. Caffeine runs the loader
+ * under the key's lock, and the after-commit {@link #invalidate} waits for any in-flight load of that
+ * key before removing it. Hit, miss and eviction counts are published as {@code cache.*} metrics with
+ * {@code cache=mealDetails}.
+ */
+@Component
+public class MealDetailsCache implements MeterBinder {
+
+    static final String NAME = "mealDetails";
+
+    private final Cache<Long, MealDetails> cache;
+
+    public MealDetailsCache(@Value("${meal-planner.meal-details-cache.max-size:10000}") long maxSize,
+                            @Value("${meal-planner.meal-details-cache.ttl:PT30S}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public MealDetails get(Long mealId, Function<Long, MealDetails> loader) {
+        return cache.get(mealId, loader);
+    }
+
+    public void invalidate(Long mealId) {
+        cache.invalidate(mealId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMealChanged(MealChangedEvent event) {
+        if (event.mealId() == null) {
+            invalidateAll();
+        } else {
+            invalidate(event.mealId());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, NAME);
+    }
+}
@@ -0,0 +1,202 @@
+package com.team.meal.planner.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.team.meal.planner.dto.MealCreate;
+import com.team.meal.planner.dto.MealImportReport;
+import com.team.meal.planner.entities.Meal;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams meals from NDJSON or CSV into the database. Rows are read one line at a time and written in
+ * chunks: each chunk is persisted, flushed as JDBC batches and committed in its own transaction, so memory
+ * stays constant regardless of the size of the upload.
+ */
+@Service
+public class MealImportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public MealImportService(EntityManager entityManager,
+                             TransactionTemplate transactionTemplate,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             @Value("${meal-planner.meal-import.chunk-size:500}") int chunkSize,
+                             @Value("${meal-planner.meal-import.max-reported-errors:100}") int maxReportedErrors) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public MealImportReport importMeals(InputStream input, Format format) throws IOException {
+        long started = System.nanoTime();
+        ImportRun run = new ImportRun();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+
+        String[] header = null;
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && header == null) {
+                header = parseCsvLine(line).stream().map(h -> h.trim().toLowerCase(Locale.ROOT)).toArray(String[]::new);
+                continue;
+            }
+            run.rowsRead++;
+            try {
+                MealCreate dto = format == Format.NDJSON
+                        ? objectMapper.readValue(line, MealCreate.class)
+                        : fromCsv(header, parseCsvLine(line));
+                Set<ConstraintViolation<MealCreate>> violations = validator.validate(dto);
+                if (!violations.isEmpty()) {
+                    run.fail(lineNumber, violations.stream().map(ConstraintViolation::getMessage)
+                            .sorted().collect(Collectors.joining("; ")));
+                    continue;
+                }
+                run.chunk.add(MealService.toMeal(dto));
+                run.chunkLines.add(lineNumber);
+            } catch (JsonProcessingException ex) {
+                run.fail(lineNumber, "Malformed JSON: " + ex.getOriginalMessage());
+            } catch (DateTimeParseException | IllegalArgumentException ex) {
+                run.fail(lineNumber, ex.getMessage());
+            }
+            if (run.chunk.size() >= chunkSize) {
+                writeChunk(run);
+            }
+        }
+        writeChunk(run);
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        return new MealImportReport(run.rowsRead, run.imported, run.failed, elapsedMillis, run.errors);
+    }
+
+    private void writeChunk(ImportRun run) {
+        if (run.chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                run.chunk.forEach(entityManager::persist);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            run.imported += run.chunk.size();
+        } catch (DataAccessException | PersistenceException ex) {
+            for (Long line : run.chunkLines) {
+                run.fail(line, "Chunk rejected by the database: " + ex.getMessage());
+            }
+        }
+        run.chunk.clear();
+        run.chunkLines.clear();
+    }
+
+    private static MealCreate fromCsv(String[] header, List<String> values) {
+        MealCreate dto = new MealCreate();
+        for (int i = 0; i < header.length && i < values.size(); i++) {
+            String value = values.get(i).trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            switch (header[i]) {
+                case "title" -> dto.setTitle(value);
+                case "cuisine" -> dto.setCuisine(value);
+                case "date" -> dto.setDate(LocalDateTime.parse(value));
+                case "tags" -> dto.setTags(Arrays.stream(value.split("\\|"))
+                        .map(String::trim).filter(t -> !t.isEmpty()).collect(Collectors.toCollection(HashSet::new)));
+                case "maxattendees" -> dto.setMaxAttendees(parseInt(value));
+                default -> { }
+            }
+        }
+        return dto;
+    }
+
+    private static Integer parseInt(String value) {
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("maxAttendees is not a number: " + value);
+        }
+    }
+
+    /**
+     * Splits one CSV record; fields may be double-quoted, with {@code ""} as an escaped quote.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private final class ImportRun {
+        private final List<Meal> chunk = new ArrayList<>();
+        private final List<Long> chunkLines = new ArrayList<>();
+        private final List<MealImportReport.RowError> errors = new ArrayList<>();
+        private long rowsRead;
+        private long imported;
+        private long failed;
+
+        private void fail(long line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new MealImportReport.RowError(line, message));
+            }
+        }
+    }
+}
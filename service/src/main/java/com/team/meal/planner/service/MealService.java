@@ -0,0 +1,273 @@
+package com.team.meal.planner.service;
+
+import com.team.meal.planner.config.ReadWriteRoutingDataSource;
+import com.team.meal.planner.dto.CursorPage;
+import com.team.meal.planner.dto.MealCreate;
+import com.team.meal.planner.dto.MealDetails;
+import com.team.meal.planner.dto.MealSummary;
+import com.team.meal.planner.dto.MealUpdate;
+import com.team.meal.planner.entities.Meal;
+import com.team.meal.planner.entities.Signup;
+import com.team.meal.planner.exception.BadRequestException;
+import com.team.meal.planner.exception.ConflictException;
+import com.team.meal.planner.exception.ConstraintViolations;
+import com.team.meal.planner.repository.MealRepository;
+import com.team.meal.planner.repository.PersonRepository;
+import com.team.meal.planner.repository.SignupRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.OptimisticLockException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.*;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Every public operation is timed as {@code mealplanner.meal.service}, tagged with the method name.
+ */
+@Service
+@Timed(value = "mealplanner.meal.service", description = "MealService operations")
+public class MealService {
+
+    /**
+     * Largest keyset page; a bigger {@code size} is served this many rows at a time.
+     */
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final MealRepository mealRepository;
+    private final SignupRepository signupRepository;
+    private final PersonRepository personRepository;
+    private final MealDetailsCache mealDetailsCache;
+    private final WaitlistService waitlist;
+    private final ApplicationEventPublisher events;
+
+    public MealService(MealRepository mealRepository, SignupRepository signupRepository,
+                       PersonRepository personRepository, MealDetailsCache mealDetailsCache,
+                       WaitlistService waitlist, ApplicationEventPublisher events) {
+        this.mealRepository = mealRepository;
+        this.signupRepository = signupRepository;
+        this.personRepository = personRepository;
+        this.mealDetailsCache = mealDetailsCache;
+        this.waitlist = waitlist;
+        this.events = events;
+    }
+
+    public Meal createMeal(MealCreate dto) {
+        return mealRepository.save(toMeal(dto));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<MealSummary> listMeals(LocalDate dateFrom, LocalDate dateTo, String cuisine, String tag,
+                                       int page, int size, String sort) {
+        page = Math.max(page, 0);
+        size = (size <= 0) ? 20 : size;
+        Pageable pageable = PageRequest.of(page, size, parseSort(sort));
+        Page<MealSummary> result = mealRepository.findByFilters(
+                dateFrom != null ? dateFrom.atStartOfDay() : null,
+                dateTo != null ? dateTo.plusDays(1).atStartOfDay() : null,
+                cuisine, tag, pageable
+        );
+        attachTags(result.getContent());
+        return result;
+    }
+
+    /**
+     * Keyset ("seek") variant of {@link #listMeals}: ordered by {@code (date, id)}, with no OFFSET and no
+     * count query, so every page costs the same. The direction comes from {@code sort} on the first page
+     * and from the cursor afterwards.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<MealSummary> scrollMeals(LocalDate dateFrom, LocalDate dateTo, String cuisine, String tag,
+                                        String cursor, int size, String sort) {
+        size = keysetPageSize(size);
+        boolean ascending = parseSort(sort).iterator().next().isAscending();
+        MealCursor position = MealCursor.decode(cursor, ascending);
+
+        LocalDateTime from = dateFrom != null ? dateFrom.atStartOfDay() : null;
+        LocalDateTime to = dateTo != null ? dateTo.plusDays(1).atStartOfDay() : null;
+        Limit limit = Limit.of(size + 1);
+        List<MealSummary> rows = position.ascending()
+                ? mealRepository.findPageAfterAscending(from, to, cuisine, tag, position.date(), position.id(), limit)
+                : mealRepository.findPageAfterDescending(from, to, cuisine, tag, position.date(), position.id(), limit);
+
+        return toCursorPage(rows, size, position);
+    }
+
+    /**
+     * Meals the person could sign up for right now, in ascending {@code (date, id)} keyset pages. Dietary
+     * fit, free capacity and already-booked days are all filtered by the query. Meals that have already
+     * started are never listed, so {@code dateFrom} defaults to now, and today or an earlier day means now.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<MealSummary> listEligibleMeals(Long personId, LocalDate dateFrom, LocalDate dateTo,
+                                                     String cursor, int size) {
+        int dietaryMask = personRepository.findDietaryMaskById(personId)
+                .orElseThrow(() -> new BadRequestException("Person not found"));
+        size = keysetPageSize(size);
+        MealCursor position = MealCursor.decode(cursor, true);
+        if (!position.ascending()) {
+            throw new BadRequestException("Invalid cursor");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = dateFrom != null && dateFrom.isAfter(now.toLocalDate()) ? dateFrom.atStartOfDay() : now;
+        LocalDateTime to = dateTo != null ? dateTo.plusDays(1).atStartOfDay() : null;
+        List<MealSummary> rows = mealRepository.findEligiblePageAfter(personId, dietaryMask, from, to,
+                position.date(), position.id(), Limit.of(size + 1));
+        return toCursorPage(rows, size, position);
+    }
+
+    /**
+     * Not a read-only transaction of its own, so that cache hits take no connection. Misses are read on the
+     * primary: the cache drops an entry when a change commits, and a lagging replica would put the old
+     * state straight back.
+     */
+    public MealDetails getMealDetails(Long id) {
+        return mealDetailsCache.get(id, this::loadMealDetails);
+    }
+
+    /**
+     * Version and attendee count of a meal, read without loading the entity; used to answer conditional GETs.
+     * Read on the primary, like the details: a lagging replica would still match the ETag of the old state
+     * and answer 304 to a client whose copy is out of date.
+     */
+    public MealRepository.MealVersion getMealVersion(Long id) {
+        try (ReadWriteRoutingDataSource.Pin ignored = ReadWriteRoutingDataSource.pinPrimary()) {
+            return mealRepository.findVersionById(id).orElseThrow(() -> new BadRequestException("Meal not found"));
+        }
+    }
+
+    /**
+     * Locks the meal row first, the same lock a signup takes, so that no signup can still be committing
+     * the old day while the signups are moved to the new one.
+     */
+    @Transactional
+    public Meal updateMeal(Long id, MealUpdate request) {
+        Meal meal = mealRepository.findByIdForUpdate(id).orElseThrow(() -> new BadRequestException("Meal not found"));
+        LocalDate previousDay = meal.getDate() != null ? meal.getDate().toLocalDate() : null;
+        Integer previousMax = meal.getMaxAttendees();
+        applyUpdates(meal, request);
+
+        if (request.getVersion() != null && !request.getVersion().equals(meal.getVersion())) {
+            throw new ConflictException("Meal version mismatch — please refresh and try again.");
+        }
+
+        Meal saved;
+        try {
+            saved = mealRepository.save(meal);
+        } catch (OptimisticLockException | OptimisticLockingFailureException ex) {
+            throw new ConflictException("Concurrent update conflict");
+        }
+
+        LocalDate newDay = saved.getDate() != null ? saved.getDate().toLocalDate() : null;
+        if (newDay != null && !newDay.equals(previousDay)) {
+            moveSignupsToDay(id, newDay);
+        }
+        if (previousMax != null && (saved.getMaxAttendees() == null || saved.getMaxAttendees() > previousMax)) {
+            waitlist.promote(id);
+        }
+        events.publishEvent(new MealChangedEvent(id));
+        return saved;
+    }
+
+    public void deleteMeal(Long id) {
+        findMealOrThrow(id);
+        if (signupRepository.existsByMealId(id)) throw new BadRequestException("Cannot delete meal with existing signups");
+        mealRepository.deleteById(id);
+        events.publishEvent(new MealChangedEvent(id));
+    }
+
+    private void moveSignupsToDay(Long mealId, LocalDate mealDay) {
+        try {
+            signupRepository.updateMealDay(mealId, mealDay);
+        } catch (DataIntegrityViolationException ex) {
+            if (ConstraintViolations.isViolationOf(ex, Signup.PERSON_DAY_CONSTRAINT)) {
+                throw new ConflictException("Cannot move meal: an attendee already has another meal on " + mealDay);
+            }
+            throw ex;
+        }
+    }
+
+    private MealDetails loadMealDetails(Long id) {
+        // Tags are fetched eagerly because the cached entity is serialized long after its session closed.
+        try (ReadWriteRoutingDataSource.Pin ignored = ReadWriteRoutingDataSource.pinPrimary()) {
+            Meal meal = mealRepository.findWithTagsById(id).orElseThrow(() -> new BadRequestException("Meal not found"));
+            return new MealDetails(meal, meal.getAttendeeCount());
+        }
+    }
+
+    private static int keysetPageSize(int size) {
+        return size <= 0 ? 20 : Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    private CursorPage<MealSummary> toCursorPage(List<MealSummary> rows, int size, MealCursor position) {
+        if (rows.size() <= size) {
+            attachTags(rows);
+            return new CursorPage<>(rows, null);
+        }
+        List<MealSummary> page = rows.subList(0, size);
+        attachTags(page);
+        MealSummary last = page.get(size - 1);
+        return new CursorPage<>(page, position.next(last.getDate(), last.getId()).encode());
+    }
+
+    /**
+     * Loads the tags of a whole page with one IN-query instead of one lazy collection load per meal.
+     */
+    private void attachTags(List<MealSummary> meals) {
+        if (meals.isEmpty()) {
+            return;
+        }
+        Map<Long, Set<String>> tagsByMeal = new HashMap<>();
+        List<Long> ids = meals.stream().map(MealSummary::getId).toList();
+        for (MealRepository.MealTag row : mealRepository.findTagsByMealIdIn(ids)) {
+            tagsByMeal.computeIfAbsent(row.getMealId(), id -> new HashSet<>()).add(row.getTag());
+        }
+        meals.forEach(m -> m.setTags(tagsByMeal.getOrDefault(m.getId(), Set.of())));
+    }
+
+    static Meal toMeal(MealCreate dto) {
+        Meal meal = new Meal();
+        meal.setTitle(dto.getTitle());
+        meal.setCuisine(dto.getCuisine());
+        meal.setDate(dto.getDate());
+        meal.setTags(dto.getTags());
+        meal.setMaxAttendees(dto.getMaxAttendees());
+        return meal;
+    }
+
+    private Meal findMealOrThrow(Long id) {
+        return mealRepository.findById(id).orElseThrow(() -> new BadRequestException("Meal not found"));
+    }
+
+    private void applyUpdates(Meal meal, MealUpdate request) {
+        Optional.ofNullable(request.getDate()).ifPresent(meal::setDate);
+        Optional.ofNullable(request.getTitle()).ifPresent(meal::setTitle);
+        Optional.ofNullable(request.getCuisine()).ifPresent(meal::setCuisine);
+        Optional.ofNullable(request.getTags()).ifPresent(meal::setTags);
+        Optional.ofNullable(request.getMaxAttendees()).ifPresent(meal::setMaxAttendees);
+        Optional.ofNullable(request.getVersion()).ifPresent(meal::setVersion);
+    }
+
+    static Sort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) return Sort.by(Sort.Direction.DESC, "date");
+        String[] parts = sort.split(",");
+        String field = parts[0].trim();
+        if (!List.of("date", "title", "cuisine", "maxAttendees").contains(field)) {
+            field = "date";
+        }
+        Sort.Direction dir = (parts.length > 1 && "asc".equalsIgnoreCase(parts[1]))
+                ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return Sort.by(dir, field);
+    }
+}
@@ -0,0 +1,194 @@
+package com.team.meal.planner.service;
+
+import com.team.meal.planner.entities.Meal;
+import com.team.meal.planner.entities.Person;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The {@code notification_outbox} table. Notifications are inserted in the transaction that causes them,
+ * so they exist exactly when that transaction commits; {@link NotificationOutboxDispatcher} claims and
+ * sends them afterwards. A new notification is due only after the coalescing window, and claiming a due
+ * notification also claims the other pending ones of its recipient, so they can go out as one digest.
+ */
+@Component
+public class NotificationOutbox {
+
+    static final String SIGNUP_CONFIRMATION = "SIGNUP_CONFIRMATION";
+    static final String PENDING = "PENDING";
+    static final String SENDING = "SENDING";
+    static final String DEAD = "DEAD";
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private static final String INSERT =
+            "INSERT INTO notification_outbox (kind, recipient, meal_id, meal_title, meal_date, signup_id, status, "
+                    + "attempts, next_attempt_at, created_at) VALUES (?, ?, ?, ?, ?, ?, 'PENDING', 0, ?, ?)";
+
+    private static final String COLUMNS = "id, kind, recipient, meal_id, meal_title, meal_date, signup_id, attempts";
+
+    // SKIP LOCKED lets several dispatchers (threads or instances) claim disjoint batches without waiting.
+    // A SENDING row is due again when its lease has run out.
+    private static final String SELECT_DUE =
+            "SELECT " + COLUMNS + " FROM notification_outbox "
+                    + "WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= :now "
+                    + "ORDER BY next_attempt_at, id FETCH FIRST :limit ROWS ONLY FOR UPDATE SKIP LOCKED";
+
+    private static final String SELECT_COALESCED =
+            "SELECT " + COLUMNS + " FROM notification_outbox "
+                    + "WHERE recipient IN (:recipients) AND status = 'PENDING' AND next_attempt_at > :now "
+                    + "AND kind = '" + SIGNUP_CONFIRMATION + "' ORDER BY id "
+                    + "FETCH FIRST :limit ROWS ONLY FOR UPDATE SKIP LOCKED";
+
+    private static final String LEASE =
+            "UPDATE notification_outbox SET status = 'SENDING', attempts = attempts + 1, next_attempt_at = ? "
+                    + "WHERE id = ?";
+
+    private static final String DELETE = "DELETE FROM notification_outbox WHERE id = ?";
+
+    private static final String RESCHEDULE =
+            "UPDATE notification_outbox SET status = 'PENDING', next_attempt_at = ?, last_error = ? WHERE id = ?";
+
+    private static final String BURY =
+            "UPDATE notification_outbox SET status = 'DEAD', last_error = ? WHERE id = ?";
+
+    private static final RowMapper<Message> MESSAGE_MAPPER = (rs, rowNum) -> new Message(
+            rs.getLong("id"),
+            rs.getString("kind"),
+            rs.getString("recipient"),
+            rs.getLong("meal_id"),
+            rs.getString("meal_title"),
+            rs.getObject("meal_date", LocalDateTime.class),
+            rs.getObject("signup_id", Long.class),
+            // the lease below counts this claim as an attempt
+            rs.getInt("attempts") + 1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final Duration coalesceWindow;
+
+    public NotificationOutbox(JdbcTemplate jdbcTemplate,
+                              @Value("${meal-planner.outbox.coalesce-window:PT1M}") Duration coalesceWindow) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.coalesceWindow = coalesceWindow;
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void enqueueSignupConfirmation(Long signupId, Meal meal, Person person) {
+        enqueueSignupConfirmations(List.of(new SignupConfirmation(signupId, meal, person)));
+    }
+
+    /**
+     * Adds one confirmation per signup, in a single JDBC batch. People without an email address are
+     * skipped. Must join the transaction that writes the signups.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void enqueueSignupConfirmations(List<SignupConfirmation> confirmations) {
+        List<SignupConfirmation> deliverable = confirmations.stream()
+                .filter(c -> c.person().getEmail() != null && !c.person().getEmail().isBlank())
+                .toList();
+        if (deliverable.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp due = Timestamp.valueOf(now.plus(coalesceWindow));
+        Timestamp created = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(INSERT, deliverable, deliverable.size(), (ps, c) -> {
+            ps.setString(1, SIGNUP_CONFIRMATION);
+            ps.setString(2, c.person().getEmail());
+            ps.setLong(3, c.meal().getId());
+            ps.setString(4, c.meal().getTitle());
+            ps.setObject(5, c.meal().getDate() != null ? Timestamp.valueOf(c.meal().getDate()) : null);
+            ps.setObject(6, c.signupId());
+            ps.setTimestamp(7, due);
+            ps.setTimestamp(8, created);
+        });
+    }
+
+    /**
+     * Claims up to {@code limit} messages due at {@code now}, plus up to {@code limit} not yet due signup
+     * confirmations of the same recipients: counts the attempt and marks them {@code SENDING} until
+     * {@code leaseUntil}. A dispatcher that dies mid-batch therefore only delays its messages.
+     */
+    @Transactional
+    public List<Message> claim(int limit, LocalDateTime now, LocalDateTime leaseUntil) {
+        Timestamp at = Timestamp.valueOf(now);
+        List<Message> claimed = new ArrayList<>(namedJdbcTemplate.query(SELECT_DUE,
+                Map.of("now", at, "limit", limit), MESSAGE_MAPPER));
+        if (claimed.isEmpty()) {
+            return claimed;
+        }
+        Set<String> recipients = claimed.stream()
+                .filter(m -> SIGNUP_CONFIRMATION.equals(m.kind()))
+                .map(Message::recipient)
+                .collect(Collectors.toSet());
+        if (!recipients.isEmpty()) {
+            claimed.addAll(namedJdbcTemplate.query(SELECT_COALESCED,
+                    Map.of("recipients", recipients, "now", at, "limit", limit), MESSAGE_MAPPER));
+        }
+        Timestamp until = Timestamp.valueOf(leaseUntil);
+        jdbcTemplate.batchUpdate(LEASE, claimed, claimed.size(), (ps, m) -> {
+            ps.setTimestamp(1, until);
+            ps.setLong(2, m.id());
+        });
+        return claimed;
+    }
+
+    /**
+     * Records the outcome of a claimed batch: sent messages are deleted, the others are due again at
+     * their retry time or marked {@code DEAD}.
+     */
+    @Transactional
+    public void complete(List<Long> sent, List<Retry> retries, List<Failure> dead) {
+        if (!sent.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE, sent, sent.size(), (ps, id) -> ps.setLong(1, id));
+        }
+        if (!retries.isEmpty()) {
+            jdbcTemplate.batchUpdate(RESCHEDULE, retries, retries.size(), (ps, r) -> {
+                ps.setTimestamp(1, Timestamp.valueOf(r.nextAttemptAt()));
+                ps.setString(2, truncate(r.error()));
+                ps.setLong(3, r.id());
+            });
+        }
+        if (!dead.isEmpty()) {
+            jdbcTemplate.batchUpdate(BURY, dead, dead.size(), (ps, f) -> {
+                ps.setString(1, truncate(f.error()));
+                ps.setLong(2, f.id());
+            });
+        }
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    public record SignupConfirmation(Long signupId, Meal meal, Person person) {
+    }
+
+    /**
+     * A claimed message; {@code attempts} includes the current one.
+     */
+    public record Message(long id, String kind, String recipient, long mealId, String mealTitle,
+                          LocalDateTime mealDate, Long signupId, int attempts) {
+    }
+
+    public record Retry(long id, LocalDateTime nextAttemptAt, String error) {
+    }
+
+    public record Failure(long id, String error) {
+    }
+}
@@ -0,0 +1,219 @@
+package com.team.meal.planner.service;
+
+import com.team.meal.planner.config.AsyncConfig;
+import com.team.meal.planner.service.EmailService.MealLine;
+import com.team.meal.planner.service.NotificationOutbox.Failure;
+import com.team.meal.planner.service.NotificationOutbox.Message;
+import com.team.meal.planner.service.NotificationOutbox.Retry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends the notifications in {@link NotificationOutbox}. Each poll claims due messages in batches, sends a
+ * batch concurrently on the email executor and records all results with one write. The signup
+ * confirmations of one recipient in a batch go out as a single digest. A failed message is retried with
+ * exponential backoff and marked {@code DEAD} after {@code max-attempts}.
+ */
+@Service
+public class NotificationOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationOutboxDispatcher.class);
+
+    /**
+     * Dispatched messages, tagged {@code result} = sent, retried or dead.
+     */
+    static final String MESSAGES_COUNTER = "mealplanner.outbox.messages";
+
+    /**
+     * Time to send one claimed batch and record its results.
+     */
+    static final String BATCH_TIMER = "mealplanner.outbox.batch";
+
+    /**
+     * Emails handed to {@link EmailService}, tagged {@code type} = confirmation or digest.
+     */
+    static final String EMAILS_COUNTER = "mealplanner.outbox.emails";
+
+    private static final Comparator<Message> MEAL_ORDER = Comparator
+            .comparing(Message::mealDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Message::id);
+
+    private final NotificationOutbox outbox;
+    private final EmailService emailService;
+    private final Executor emailExecutor;
+    private final int batchSize;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter deadCounter;
+    private final Counter confirmationCounter;
+    private final Counter digestCounter;
+    private final Timer batchTimer;
+
+    public NotificationOutboxDispatcher(NotificationOutbox outbox,
+                                        EmailService emailService,
+                                        @Qualifier(AsyncConfig.EMAIL_EXECUTOR) Executor emailExecutor,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${meal-planner.outbox.batch-size:100}") int batchSize,
+                                        @Value("${meal-planner.outbox.lease:PT1M}") Duration lease,
+                                        @Value("${meal-planner.outbox.max-attempts:5}") int maxAttempts,
+                                        @Value("${meal-planner.outbox.initial-backoff:PT10S}") Duration initialBackoff,
+                                        @Value("${meal-planner.outbox.max-backoff:PT30M}") Duration maxBackoff) {
+        this.outbox = outbox;
+        this.emailService = emailService;
+        this.emailExecutor = emailExecutor;
+        this.batchSize = Math.max(batchSize, 1);
+        this.lease = lease;
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.sentCounter = messages(meterRegistry, "sent");
+        this.retriedCounter = messages(meterRegistry, "retried");
+        this.deadCounter = messages(meterRegistry, "dead");
+        this.confirmationCounter = emails(meterRegistry, "confirmation");
+        this.digestCounter = emails(meterRegistry, "digest");
+        this.batchTimer = Timer.builder(BATCH_TIMER)
+                .description("Send and record one claimed outbox batch")
+                .register(meterRegistry);
+    }
+
+    private static Counter messages(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(MESSAGES_COUNTER)
+                .description("Outbox messages dispatched, by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter emails(MeterRegistry meterRegistry, String type) {
+        return Counter.builder(EMAILS_COUNTER)
+                .description("Emails sent for outbox messages, by type")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${meal-planner.outbox.poll-interval:PT1S}",
+            initialDelayString = "${meal-planner.outbox.poll-interval:PT1S}")
+    public void dispatchDue() {
+        dispatch(LocalDateTime.now());
+    }
+
+    /**
+     * Claims and sends batches until less than a full batch is due at {@code now}.
+     *
+     * @return the number of messages claimed
+     */
+    int dispatch(LocalDateTime now) {
+        int claimed = 0;
+        List<Message> batch;
+        do {
+            batch = outbox.claim(batchSize, now, now.plus(lease));
+            if (!batch.isEmpty()) {
+                List<Message> claimedBatch = batch;
+                batchTimer.record(() -> send(claimedBatch, now));
+            }
+            claimed += batch.size();
+        } while (batch.size() >= batchSize);
+        return claimed;
+    }
+
+    private void send(List<Message> batch, LocalDateTime now) {
+        // one email per recipient for signup confirmations, one per message for anything else
+        Map<String, List<Message>> emails = new LinkedHashMap<>();
+        for (Message message : batch) {
+            String key = NotificationOutbox.SIGNUP_CONFIRMATION.equals(message.kind())
+                    ? message.recipient() : "#" + message.id();
+            emails.computeIfAbsent(key, k -> new ArrayList<>()).add(message);
+        }
+        // A send that outlives the lease may be claimed again elsewhere, so stop waiting and retry it.
+        List<List<Message>> grouped = List.copyOf(emails.values());
+        List<CompletableFuture<String>> results = grouped.stream()
+                .map(email -> CompletableFuture.supplyAsync(() -> deliver(email), emailExecutor)
+                        .orTimeout(lease.toMillis(), TimeUnit.MILLISECONDS))
+                .toList();
+
+        List<Long> sent = new ArrayList<>();
+        List<Retry> retries = new ArrayList<>();
+        List<Failure> dead = new ArrayList<>();
+        for (int i = 0; i < grouped.size(); i++) {
+            String error = results.get(i).exceptionally(NotificationOutboxDispatcher::describe).join();
+            for (Message message : grouped.get(i)) {
+                if (error == null) {
+                    sent.add(message.id());
+                } else if (message.attempts() >= maxAttempts) {
+                    log.warn("Giving up on {} notification {} to {} after {} attempts: {}",
+                            message.kind(), message.id(), message.recipient(), message.attempts(), error);
+                    dead.add(new Failure(message.id(), error));
+                } else {
+                    retries.add(new Retry(message.id(), now.plus(backoff(message.attempts())), error));
+                }
+            }
+        }
+        outbox.complete(sent, retries, dead);
+        sentCounter.increment(sent.size());
+        retriedCounter.increment(retries.size());
+        deadCounter.increment(dead.size());
+    }
+
+    /**
+     * Sends one email for the given messages: a confirmation for a single message, a digest otherwise.
+     *
+     * @return {@code null} when sent, otherwise the error
+     */
+    private String deliver(List<Message> email) {
+        try {
+            Message first = email.get(0);
+            if (!NotificationOutbox.SIGNUP_CONFIRMATION.equals(first.kind())) {
+                throw new IllegalStateException("Unknown notification kind " + first.kind());
+            }
+            if (email.size() == 1) {
+                emailService.sendSignupConfirmation(first.recipient(), first.mealTitle());
+                confirmationCounter.increment();
+            } else {
+                emailService.sendSignupDigest(first.recipient(), email.stream()
+                        .sorted(MEAL_ORDER)
+                        .map(m -> new MealLine(m.mealTitle(), m.mealDate()))
+                        .toList());
+                digestCounter.increment();
+            }
+            return null;
+        } catch (RuntimeException ex) {
+            return describe(ex);
+        }
+    }
+
+    /**
+     * {@code initial-backoff} doubled per failed attempt, capped at {@code max-backoff}.
+     */
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String describe(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        return cause.getMessage() != null ? cause.getClass().getSimpleName() + ": " + cause.getMessage()
+                : cause.getClass().getSimpleName();
+    }
+}
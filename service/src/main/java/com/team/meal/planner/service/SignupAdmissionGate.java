@@ -0,0 +1,167 @@
+package com.team.meal.planner.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.team.meal.planner.config.ReadWriteRoutingDataSource;
+import com.team.meal.planner.entities.Person;
+import com.team.meal.planner.repository.MealRepository;
+import com.team.meal.planner.repository.PersonRepository;
+import com.team.meal.planner.repository.SignupRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Meals known to turn signups away, so {@link SignupService} can answer a request for a full or past meal
+ * without locking the meal. A meal is remembered after a signup for it was rejected as full or past:
+ * its seat counts, date and attendees are read from the primary database outside any transaction, and the entry is
+ * dropped as soon as a change to the meal commits. The database stays authoritative: a meal that is not
+ * remembered, or no longer closed, goes through the full check.
+ * <p>
+ * A request is only turned away here if the full check would give the same answer: the person must exist,
+ * and for a full meal must also be suited to it, since a missing person or a dietary mismatch is reported
+ * before the meal being full. The person is read through the second-level cache.
+ * <p>
+ * As in {@link MealDetailsCache}, Caffeine runs the load under the key's lock and the after-commit
+ * {@link #forget} waits for it, so a load that read the old state can't outlive the change. Entries are
+ * weighed by their attendee count and published as {@code cache.*} metrics with {@code cache=signupAdmission}.
+ */
+@Component
+public class SignupAdmissionGate implements MeterBinder {
+
+    static final String NAME = "signupAdmission";
+
+    /**
+     * Why a remembered meal turns a signup away; {@link #OPEN} when the gate can't tell.
+     */
+    enum Verdict {
+        OPEN, FULL, PAST
+    }
+
+    private final MealRepository mealRepository;
+    private final SignupRepository signupRepository;
+    private final PersonRepository personRepository;
+    private final boolean enabled;
+    private final Cache<Long, ClosedMeal> cache;
+
+    public SignupAdmissionGate(MealRepository mealRepository,
+                               SignupRepository signupRepository,
+                               PersonRepository personRepository,
+                               @Value("${meal-planner.signup.admission-gate.enabled:true}") boolean enabled,
+                               @Value("${meal-planner.signup.admission-gate.max-attendees:1000000}") long maxAttendees,
+                               @Value("${meal-planner.signup.admission-gate.ttl:PT10M}") Duration ttl) {
+        this.mealRepository = mealRepository;
+        this.signupRepository = signupRepository;
+        this.personRepository = personRepository;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxAttendees)
+                .weigher((Long mealId, ClosedMeal meal) -> meal.attendees.length + 1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Checks a signup against what is known about the meal; reads the person only for a remembered meal.
+     * A person already signed up is let through, so a repeated request still gets its existing signup, and
+     * so is a person the full check would reject for another reason first.
+     *
+     * @param waitlisting whether a full meal takes signups on its waitlist
+     */
+    Verdict check(Long mealId, Long personId, boolean waitlisting) {
+        if (!enabled || mealId == null || personId == null) {
+            return Verdict.OPEN;
+        }
+        ClosedMeal meal = cache.getIfPresent(mealId);
+        if (meal == null || Arrays.binarySearch(meal.attendees, personId) >= 0) {
+            return Verdict.OPEN;
+        }
+        Verdict verdict = meal.startsAtMillis < System.currentTimeMillis() ? Verdict.PAST
+                : !waitlisting && meal.maxAttendees >= 0 && meal.attendeeCount >= meal.maxAttendees ? Verdict.FULL
+                : Verdict.OPEN;
+        if (verdict == Verdict.OPEN) {
+            return verdict;
+        }
+        Person person = personRepository.findById(personId).orElse(null);
+        if (person == null) {
+            return Verdict.OPEN;
+        }
+        // the past check comes before the dietary one, the full check after it
+        if (verdict == Verdict.FULL && (person.getDietaryMask() & ~meal.dietaryMask) != 0) {
+            return Verdict.OPEN;
+        }
+        return verdict;
+    }
+
+    /**
+     * Reads the committed state of a meal that just turned a signup away. Call outside a transaction.
+     */
+    void remember(Long mealId) {
+        // inside a transaction the read could see changes that are later rolled back
+        if (enabled && mealId != null && !TransactionSynchronizationManager.isActualTransactionActive()) {
+            cache.get(mealId, this::load);
+        }
+    }
+
+    private ClosedMeal load(Long mealId) {
+        // a lagging replica could bring back a state the last forget already dropped
+        try (ReadWriteRoutingDataSource.Pin ignored = ReadWriteRoutingDataSource.pinPrimary()) {
+            return mealRepository.findAdmissionById(mealId)
+                    .map(meal -> {
+                        List<Long> personIds = signupRepository.findPersonIdsByMealId(mealId);
+                        long[] attendees = personIds.stream().mapToLong(Long::longValue).sorted().toArray();
+                        return new ClosedMeal(
+                                meal.getDate().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                                meal.getAttendeeCount(),
+                                meal.getMaxAttendees() != null ? meal.getMaxAttendees() : -1,
+                                meal.getDietaryMask(),
+                                attendees);
+                    })
+                    .orElse(null);
+        }
+    }
+
+    public void forget(Long mealId) {
+        cache.invalidate(mealId);
+    }
+
+    public void forgetAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMealChanged(MealChangedEvent event) {
+        if (event.mealId() == null) {
+            forgetAll();
+        } else {
+            forget(event.mealId());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, NAME);
+    }
+
+    /**
+     * {@code maxAttendees} is -1 for a meal without a limit; {@code attendees} are sorted person ids.
+     */
+    private record ClosedMeal(long startsAtMillis, int attendeeCount, int maxAttendees, int dietaryMask,
+                              long[] attendees) {
+    }
+}
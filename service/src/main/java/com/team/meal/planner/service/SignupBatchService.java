@@ -0,0 +1,236 @@
+package com.team.meal.planner.service;
+
+import com.team.meal.planner.dto.SignupBatchItemResult;
+import com.team.meal.planner.dto.SignupBatchItemResult.Status;
+import com.team.meal.planner.dto.SignupBatchResponse;
+import com.team.meal.planner.dto.SignupCreate;
+import com.team.meal.planner.entities.Meal;
+import com.team.meal.planner.entities.Person;
+import com.team.meal.planner.entities.Signup;
+import com.team.meal.planner.exception.ConflictException;
+import com.team.meal.planner.repository.MealRepository;
+import com.team.meal.planner.repository.PersonRepository;
+import com.team.meal.planner.repository.SignupRepository;
+import com.team.meal.planner.service.NotificationOutbox.SignupConfirmation;
+import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the {@link SignupService#createSignup} rules to many signups at once: the meals and people
+ * involved are loaded with a handful of IN-queries, the rules run in memory, and the new rows are
+ * written with a single JDBC batch, as are their confirmation emails in the notification outbox.
+ */
+@Service
+public class SignupBatchService {
+
+    private static final String INSERT_SIGNUP =
+            "INSERT INTO signups (meal_id, person_id, meal_day, note, created_at, version) VALUES (?, ?, ?, ?, ?, 0)";
+
+    private final SignupRepository signupRepository;
+    private final MealRepository mealRepository;
+    private final PersonRepository personRepository;
+    private final NotificationOutbox outbox;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher events;
+
+    public SignupBatchService(SignupRepository signupRepository,
+                              MealRepository mealRepository,
+                              PersonRepository personRepository,
+                              NotificationOutbox outbox,
+                              JdbcTemplate jdbcTemplate,
+                              ApplicationEventPublisher events) {
+        this.signupRepository = signupRepository;
+        this.mealRepository = mealRepository;
+        this.personRepository = personRepository;
+        this.outbox = outbox;
+        this.jdbcTemplate = jdbcTemplate;
+        this.events = events;
+    }
+
+    @Transactional
+    public SignupBatchResponse createSignups(List<SignupCreate> items, boolean allOrNothing) {
+        Set<Long> mealIds = items.stream().map(SignupCreate::getMealId).collect(Collectors.toSet());
+        Set<Long> personIds = items.stream().map(SignupCreate::getPersonId).collect(Collectors.toSet());
+
+        // Same capacity guarantee as the single signup path: every meal in the batch is locked, in id order.
+        Map<Long, Meal> meals = mealRepository.findAllByIdForUpdate(mealIds).stream()
+                .collect(Collectors.toMap(Meal::getId, Function.identity()));
+        Map<Long, Person> people = personRepository.findAllById(personIds).stream()
+                .collect(Collectors.toMap(Person::getId, Function.identity()));
+
+        Map<String, Long> existingSignups = new HashMap<>();
+        Set<String> bookedDays = new HashSet<>();
+        if (!meals.isEmpty() && !people.isEmpty()) {
+            for (Signup s : signupRepository.findByMealIdInAndPersonIdIn(meals.keySet(), people.keySet())) {
+                existingSignups.put(key(s.getMeal().getId(), s.getPerson().getId()), s.getId());
+            }
+            Set<LocalDate> mealDays = meals.values().stream()
+                    .map(m -> m.getDate().toLocalDate()).collect(Collectors.toSet());
+            for (Signup s : signupRepository.findByPersonIdInAndMealDayIn(people.keySet(), mealDays)) {
+                bookedDays.add(key(s.getPerson().getId(), s.getMealDay()));
+            }
+        }
+
+        List<SignupBatchItemResult> results = new ArrayList<>(items.size());
+        List<PendingSignup> pending = new ArrayList<>();
+        Map<String, PendingSignup> pendingByPair = new HashMap<>();
+        Map<Long, Integer> seatsTaken = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < items.size(); i++) {
+            SignupCreate item = items.get(i);
+            SignupBatchItemResult result = new SignupBatchItemResult(i, item.getMealId(), item.getPersonId());
+            results.add(result);
+
+            Meal meal = meals.get(item.getMealId());
+            Person person = people.get(item.getPersonId());
+            if (meal == null || person == null) {
+                reject(result, meal == null ? "Meal not found" : "Person not found");
+                continue;
+            }
+
+            String pair = key(meal.getId(), person.getId());
+            if (existingSignups.containsKey(pair)) {
+                result.setStatus(Status.EXISTING);
+                result.setSignupId(existingSignups.get(pair));
+                continue;
+            }
+            if (pendingByPair.containsKey(pair)) {
+                result.setStatus(Status.EXISTING);
+                pendingByPair.get(pair).duplicates.add(result);
+                continue;
+            }
+
+            if (meal.getDate().isBefore(now)) {
+                reject(result, "Meal has already taken place");
+                continue;
+            }
+            LocalDate mealDay = meal.getDate().toLocalDate();
+            if (bookedDays.contains(key(person.getId(), mealDay))) {
+                reject(result, "Person already signed up for another meal on this day");
+                continue;
+            }
+            if (!person.isMealSuitable(meal)) {
+                reject(result, "Meal does not satisfy dietary requirements");
+                continue;
+            }
+            int taken = seatsTaken.getOrDefault(meal.getId(), 0);
+            if (meal.getMaxAttendees() != null && meal.getAttendeeCount() + taken >= meal.getMaxAttendees()) {
+                reject(result, "Meal is full");
+                continue;
+            }
+
+            seatsTaken.put(meal.getId(), taken + 1);
+            bookedDays.add(key(person.getId(), mealDay));
+            PendingSignup signup = new PendingSignup(result, meal, person, mealDay, item.getNote());
+            pending.add(signup);
+            pendingByPair.put(pair, signup);
+            result.setStatus(Status.CREATED);
+        }
+
+        boolean rejected = results.stream().anyMatch(r -> r.getStatus() == Status.REJECTED);
+        if (allOrNothing && rejected) {
+            for (PendingSignup signup : pending) {
+                signup.result.setStatus(Status.SKIPPED);
+                signup.duplicates.forEach(d -> d.setStatus(Status.SKIPPED));
+            }
+            return new SignupBatchResponse(true, false, results);
+        }
+
+        insert(pending);
+        seatsTaken.forEach((mealId, seats) -> {
+            if (mealRepository.addAttendees(mealId, seats) == 0) {
+                throw new ConflictException("Meal is full");
+            }
+            events.publishEvent(new MealChangedEvent(mealId));
+        });
+        outbox.enqueueSignupConfirmations(pending.stream()
+                .map(signup -> new SignupConfirmation(signup.result.getSignupId(), signup.meal, signup.person))
+                .toList());
+        return new SignupBatchResponse(allOrNothing, true, results);
+    }
+
+    private void insert(List<PendingSignup> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keys = new GeneratedKeyHolder();
+        try {
+            jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SIGNUP, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            PendingSignup signup = pending.get(i);
+                            ps.setLong(1, signup.meal.getId());
+                            ps.setLong(2, signup.person.getId());
+                            ps.setObject(3, signup.mealDay);
+                            ps.setString(4, signup.note);
+                            ps.setTimestamp(5, now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return pending.size();
+                        }
+                    }, keys);
+        } catch (DataIntegrityViolationException ex) {
+            // Only reachable when a concurrent request (e.g. a lock-free signup) wrote one of the same rows.
+            throw new ConflictException("Batch conflicted with concurrent signups, please retry");
+        }
+
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for (int i = 0; i < pending.size(); i++) {
+            PendingSignup signup = pending.get(i);
+            Long id = ((Number) generated.get(i).values().iterator().next()).longValue();
+            signup.result.setSignupId(id);
+            signup.duplicates.forEach(d -> d.setSignupId(id));
+        }
+    }
+
+    private static void reject(SignupBatchItemResult result, String reason) {
+        result.setStatus(Status.REJECTED);
+        result.setReason(reason);
+    }
+
+    private static String key(Object left, Object right) {
+        return left + ":" + right;
+    }
+
+    private static final class PendingSignup {
+        private final SignupBatchItemResult result;
+        private final Meal meal;
+        private final Person person;
+        private final LocalDate mealDay;
+        private final String note;
+        private final List<SignupBatchItemResult> duplicates = new ArrayList<>();
+
+        private PendingSignup(SignupBatchItemResult result, Meal meal, Person person, LocalDate mealDay, String note) {
+            this.result = result;
+            this.meal = meal;
+            this.person = person;
+            this.mealDay = mealDay;
+            this.note = note;
+        }
+    }
+}
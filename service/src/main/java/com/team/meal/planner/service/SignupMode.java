@@ -0,0 +1,19 @@
+package com.team.meal.planner.service;
+
+/**
+ * How {@link SignupService#createSignup} admits a signup into a meal.
+ */
+public enum SignupMode {
+
+    /**
+     * Takes a {@code PESSIMISTIC_WRITE} lock on the meal row for the whole transaction.
+     */
+    LOCKING,
+
+    /**
+     * Takes no up-front lock. Capacity is claimed by the conditional attendee-count update as the
+     * last statement of the transaction, duplicates are rejected by the unique constraint on
+     * {@code signups(meal_id, person_id)}, and conflicting attempts are retried a bounded number of times.
+     */
+    LOCK_FREE
+}
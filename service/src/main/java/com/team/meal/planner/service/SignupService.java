@@ -0,0 +1,300 @@
+package com.team.meal.planner.service;
+
+import com.team.meal.planner.dto.SignupResponse;
+import com.team.meal.planner.dto.SignupResult;
+import com.team.meal.planner.entities.Meal;
+import com.team.meal.planner.entities.Person;
+import com.team.meal.planner.entities.Signup;
+import com.team.meal.planner.exception.BadRequestException;
+import com.team.meal.planner.exception.ConflictException;
+import com.team.meal.planner.exception.ConstraintViolations;
+import com.team.meal.planner.repository.MealRepository;
+import com.team.meal.planner.repository.PersonRepository;
+import com.team.meal.planner.repository.SignupRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+public class SignupService {
+
+    /**
+     * Latency and count of {@link #createSignup}, tagged with its {@link Outcome}.
+     */
+    static final String SIGNUP_TIMER = "mealplanner.signup";
+
+    /**
+     * Time spent acquiring the row lock on the meal in {@link SignupMode#LOCKING} mode.
+     */
+    static final String LOCK_WAIT_TIMER = "mealplanner.signup.lock.wait";
+
+    /**
+     * Attempts repeated after a conflict in {@link SignupMode#LOCK_FREE} mode.
+     */
+    static final String RETRY_COUNTER = "mealplanner.signup.retries";
+
+    /**
+     * How a call to {@link #createSignup} ended; the lower-cased, dashed name is the {@code outcome} tag.
+     */
+    enum Outcome {
+        CREATED, IDEMPOTENT, WAITLISTED, FULL, PAST, DIETARY, DAY_CONFLICT, CONTENDED, INVALID, ERROR;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+    }
+
+    // Thrown by the admission gate, which may reject most requests for a popular meal; shared and stackless.
+    private static final Rejection KNOWN_FULL = new Rejection(Outcome.FULL, "Meal is full", false);
+    private static final Rejection KNOWN_PAST = new Rejection(Outcome.PAST, "Meal has already taken place", false);
+
+    private final SignupRepository signupRepository;
+    private final MealRepository mealRepository;
+    private final PersonRepository personRepository;
+    private final NotificationOutbox outbox;
+    private final WaitlistService waitlist;
+    private final SignupAdmissionGate gate;
+    private final ApplicationEventPublisher events;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final SignupMode mode;
+    private final int maxAttempts;
+    private final Map<Outcome, Timer> signupTimers = new EnumMap<>(Outcome.class);
+    private final Timer lockWait;
+    private final Counter retries;
+
+    public SignupService(SignupRepository signupRepository,
+                         MealRepository mealRepository,
+                         PersonRepository personRepository,
+                         NotificationOutbox outbox,
+                         WaitlistService waitlist,
+                         SignupAdmissionGate gate,
+                         ApplicationEventPublisher events,
+                         MeterRegistry meterRegistry,
+                         TransactionTemplate transactionTemplate,
+                         @Value("${meal-planner.signup.mode:LOCKING}") SignupMode mode,
+                         @Value("${meal-planner.signup.max-attempts:3}") int maxAttempts) {
+        this.signupRepository = signupRepository;
+        this.mealRepository = mealRepository;
+        this.personRepository = personRepository;
+        this.outbox = outbox;
+        this.waitlist = waitlist;
+        this.gate = gate;
+        this.events = events;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = transactionTemplate;
+        this.mode = mode;
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        for (Outcome outcome : Outcome.values()) {
+            signupTimers.put(outcome, Timer.builder(SIGNUP_TIMER)
+                    .description("Signup requests by outcome")
+                    .tag("outcome", outcome.tag())
+                    .register(meterRegistry));
+        }
+        this.lockWait = Timer.builder(LOCK_WAIT_TIMER)
+                .description("Wait for the meal row lock taken by a signup")
+                .register(meterRegistry);
+        this.retries = Counter.builder(RETRY_COUNTER)
+                .description("Lock-free signup attempts retried after a conflict")
+                .register(meterRegistry);
+    }
+
+    public SignupResult createSignup(Long mealId, Long personId, String note) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Outcome outcome = Outcome.ERROR;
+        try {
+            switch (gate.check(mealId, personId, waitlist.isEnabled())) {
+                case FULL -> throw KNOWN_FULL;
+                case PAST -> throw KNOWN_PAST;
+                case OPEN -> { }
+            }
+            SignupResult result = mode == SignupMode.LOCKING
+                    ? transactionTemplate.execute(status -> admit(mealId, personId, note, true))
+                    : admitWithRetries(mealId, personId, note);
+            outcome = result.isWaitlisted() ? Outcome.WAITLISTED
+                    : result.isCreated() ? Outcome.CREATED : Outcome.IDEMPOTENT;
+            return result;
+        } catch (Rejection ex) {
+            outcome = ex.outcome;
+            if ((outcome == Outcome.FULL || outcome == Outcome.PAST) && ex != KNOWN_FULL && ex != KNOWN_PAST) {
+                // turn the next requests away before they reach the database
+                gate.remember(mealId);
+            }
+            throw ex;
+        } catch (BadRequestException ex) {
+            outcome = Outcome.INVALID;
+            throw ex;
+        } finally {
+            sample.stop(signupTimers.get(outcome));
+        }
+    }
+
+    private SignupResult admitWithRetries(Long mealId, Long personId, String note) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> admit(mealId, personId, note, false));
+            } catch (DataIntegrityViolationException | ConcurrencyFailureException ex) {
+                // A concurrent request won the race for the row or the seat; the next attempt re-reads committed state.
+                if (attempt >= maxAttempts) {
+                    throw new Rejection(Outcome.CONTENDED, "Signup conflicted with concurrent requests, please retry");
+                }
+                retries.increment();
+            }
+        }
+    }
+
+    private SignupResult admit(Long mealId, Long personId, String note, boolean lockMeal) {
+        Meal meal = (lockMeal ? lockWait.record(() -> mealRepository.findByIdForUpdate(mealId))
+                : mealRepository.findById(mealId))
+                .orElseThrow(() -> new BadRequestException("Meal not found"));
+        Person person = personRepository.findById(personId)
+                .orElseThrow(() -> new BadRequestException("Person not found"));
+
+        Optional<Signup> existing = signupRepository.findByMealIdAndPersonId(mealId, personId);
+        if (existing.isPresent()) {
+            return new SignupResult(existing.get(), false);
+        }
+
+        if (meal.getDate().isBefore(LocalDateTime.now())) {
+            throw new Rejection(Outcome.PAST, "Meal has already taken place");
+        }
+
+        if (!person.isMealSuitable(meal)) {
+            throw new Rejection(Outcome.DIETARY, "Meal does not satisfy dietary requirements");
+        }
+
+        if (lockMeal) {
+            if (mealRepository.incrementAttendeeCount(mealId) == 0) {
+                return mealFull(meal, person, note);
+            }
+        } else if (meal.getMaxAttendees() != null && meal.getAttendeeCount() >= meal.getMaxAttendees()) {
+            // Unlocked snapshot already full: fail fast without touching the meal row, unless the person is
+            // about to be queued. A cancellation committing after the snapshot would promote from a queue
+            // that does not hold them yet, so queuing takes the lock that promotion takes.
+            if (waitlist.isEnabled()) {
+                checkStillFullUnderLock(mealId);
+            }
+            return mealFull(meal, person, note);
+        }
+
+        Signup signup = new Signup();
+        signup.setMeal(meal);
+        signup.setPerson(person);
+        signup.setMealDay(meal.getDate().toLocalDate());
+        signup.setNote(note);
+        Signup saved = insert(signup);
+
+        if (!lockMeal && mealRepository.incrementAttendeeCountOnDate(mealId, meal.getDate()) == 0) {
+            // Claimed last so the row lock taken by the UPDATE is held only until commit. Zero rows means
+            // the meal filled up or moved since it was read; the retry re-reads it and reports which.
+            throw new OptimisticLockingFailureException("Meal changed during signup");
+        }
+
+        events.publishEvent(new MealChangedEvent(mealId));
+        // Sent by NotificationOutboxDispatcher once this transaction commits; rolled back with it otherwise.
+        outbox.enqueueSignupConfirmation(saved.getId(), meal, person);
+
+        return new SignupResult(saved, true);
+    }
+
+    private void checkStillFullUnderLock(Long mealId) {
+        mealRepository.findByIdForUpdate(mealId);
+        // the managed entity still holds the unlocked snapshot, so read the seats again
+        MealRepository.MealAdmission seats = mealRepository.findAdmissionById(mealId)
+                .orElseThrow(() -> new BadRequestException("Meal not found"));
+        if (seats.getMaxAttendees() == null || seats.getAttendeeCount() < seats.getMaxAttendees()) {
+            // a seat was freed or added since the snapshot; the retry reads it and takes it
+            throw new OptimisticLockingFailureException("Seat freed during signup");
+        }
+    }
+
+    private Signup insert(Signup signup) {
+        try {
+            return signupRepository.save(signup);
+        } catch (DataIntegrityViolationException ex) {
+            if (ConstraintViolations.isViolationOf(ex, Signup.PERSON_DAY_CONSTRAINT)) {
+                throw new Rejection(Outcome.DAY_CONFLICT, "Person already signed up for another meal on this day");
+            }
+            throw ex;
+        }
+    }
+
+    private SignupResult mealFull(Meal meal, Person person, String note) {
+        if (!waitlist.isEnabled()) {
+            throw new Rejection(Outcome.FULL, "Meal is full");
+        }
+        // The waitlist has no per-day constraint of its own; promotion checks again.
+        if (signupRepository.existsByPersonIdAndMealDay(person.getId(), meal.getDate().toLocalDate())) {
+            throw new Rejection(Outcome.DAY_CONFLICT, "Person already signed up for another meal on this day");
+        }
+        return SignupResult.waitlisted(waitlist.join(meal, person, note));
+    }
+
+    @Transactional
+    public void cancelSignup(Long signupId) {
+        Signup signup = signupRepository.findById(signupId)
+                .orElseThrow(() -> new BadRequestException("Signup not found"));
+        Long mealId = signup.getMeal().getId();
+        signupRepository.delete(signup);
+        mealRepository.decrementAttendeeCount(mealId);
+        waitlist.promote(mealId);
+        events.publishEvent(new MealChangedEvent(mealId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<SignupResponse> listPersonSignups(Long personId, LocalDate date, String range) {
+        if (!personRepository.existsById(personId)) {
+            throw new BadRequestException("Person not found");
+        }
+
+        LocalDate reference = (date != null) ? date : LocalDate.now();
+        LocalDateTime start;
+        LocalDateTime end;
+
+        if ("week".equalsIgnoreCase(range)) {
+            start = reference.with(DayOfWeek.MONDAY).atStartOfDay();
+            end = start.plusDays(7).minusNanos(1);
+        } else {
+            start = reference.atStartOfDay();
+            end = reference.atTime(LocalTime.MAX);
+        }
+
+        return signupRepository.findResponsesByPersonIdAndDateBetween(personId, start, end);
+    }
+
+    /**
+     * A 409 whose cause is known, so {@link #createSignup} can tag its timer without parsing messages.
+     */
+    private static final class Rejection extends ConflictException {
+
+        private final Outcome outcome;
+
+        Rejection(Outcome outcome, String message) {
+            super(message);
+            this.outcome = outcome;
+        }
+
+        Rejection(Outcome outcome, String message, boolean writableStackTrace) {
+            super(message, writableStackTrace);
+            this.outcome = outcome;
+        }
+    }
+}
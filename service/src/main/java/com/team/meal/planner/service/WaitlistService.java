@@ -0,0 +1,173 @@
+package com.team.meal.planner.service;
+
+import com.team.meal.planner.dto.WaitlistResponse;
+import com.team.meal.planner.entities.Meal;
+import com.team.meal.planner.entities.Person;
+import com.team.meal.planner.entities.Signup;
+import com.team.meal.planner.entities.WaitlistEntry;
+import com.team.meal.planner.repository.MealRepository;
+import com.team.meal.planner.repository.SignupRepository;
+import com.team.meal.planner.repository.WaitlistRepository;
+import com.team.meal.planner.service.NotificationOutbox.SignupConfirmation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Waitlists of full meals. With {@code meal-planner.signup.waitlist} on, {@link SignupService} queues a
+ * signup for a full meal here instead of rejecting it; freed seats are handed to the queue in FIFO order
+ * by {@link #promote}.
+ */
+@Service
+public class WaitlistService {
+
+    /**
+     * Waitlisted people turned into signups.
+     */
+    static final String PROMOTED_COUNTER = "mealplanner.waitlist.promoted";
+
+    /**
+     * Waitlisted people dropped at promotion time because a rule no longer allows them in.
+     */
+    static final String DROPPED_COUNTER = "mealplanner.waitlist.dropped";
+
+    private final WaitlistRepository waitlistRepository;
+    private final MealRepository mealRepository;
+    private final SignupRepository signupRepository;
+    private final NotificationOutbox outbox;
+    private final ApplicationEventPublisher events;
+    private final boolean enabled;
+    private final Counter promoted;
+    private final Counter dropped;
+
+    public WaitlistService(WaitlistRepository waitlistRepository,
+                           MealRepository mealRepository,
+                           SignupRepository signupRepository,
+                           NotificationOutbox outbox,
+                           ApplicationEventPublisher events,
+                           MeterRegistry meterRegistry,
+                           @Value("${meal-planner.signup.waitlist:false}") boolean enabled) {
+        this.waitlistRepository = waitlistRepository;
+        this.mealRepository = mealRepository;
+        this.signupRepository = signupRepository;
+        this.outbox = outbox;
+        this.events = events;
+        this.enabled = enabled;
+        this.promoted = Counter.builder(PROMOTED_COUNTER)
+                .description("Waitlisted people promoted to a signup")
+                .register(meterRegistry);
+        this.dropped = Counter.builder(DROPPED_COUNTER)
+                .description("Waitlisted people dropped because a signup rule no longer allowed them in")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether a signup for a full meal joins the waitlist instead of failing.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Puts the person at the end of the meal's waitlist, or reports where they already are.
+     * The caller has checked the signup rules and holds whatever serializes signups for the meal.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public WaitlistResponse join(Meal meal, Person person, String note) {
+        WaitlistEntry entry = waitlistRepository.findByMealIdAndPersonId(meal.getId(), person.getId())
+                .orElseGet(() -> {
+                    WaitlistEntry created = new WaitlistEntry();
+                    created.setMeal(meal);
+                    created.setPerson(person);
+                    created.setNote(note);
+                    return waitlistRepository.save(created);
+                });
+        return new WaitlistResponse(entry, waitlistRepository.countByMealIdAndIdLessThanEqual(meal.getId(), entry.getId()));
+    }
+
+    /**
+     * Fills the free seats of a meal from its waitlist in FIFO order, as one batch: the meal row is locked,
+     * the dietary and one-meal-per-day rules are checked again for each person, and the signups, seat count,
+     * waitlist removals and confirmation emails are written together. People the rules no longer allow in
+     * are dropped from the waitlist; nobody is promoted into a meal that has already started. Call after a seat was released or the capacity raised, in the same
+     * transaction.
+     *
+     * @return the signups created
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public List<Signup> promote(Long mealId) {
+        Optional<Meal> locked = mealRepository.findByIdForUpdate(mealId);
+        if (locked.isEmpty()) {
+            return List.of();
+        }
+        Meal meal = locked.get();
+        if (meal.getDate().isBefore(LocalDateTime.now())) {
+            // the meal has started, and signups for it are no longer taken
+            return List.of();
+        }
+        // The entity may have been loaded before this transaction changed the count, so re-read it.
+        int attendees = mealRepository.findVersionById(mealId).map(MealRepository.MealVersion::getAttendeeCount)
+                .orElse(meal.getAttendeeCount());
+        int free = meal.getMaxAttendees() == null ? Integer.MAX_VALUE : meal.getMaxAttendees() - attendees;
+        if (free <= 0) {
+            return List.of();
+        }
+        List<WaitlistEntry> queue = waitlistRepository.findByMealIdOrderById(mealId);
+        if (queue.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDate mealDay = meal.getDate().toLocalDate();
+        Set<Long> booked = signupRepository.findByPersonIdInAndMealDayIn(
+                        queue.stream().map(e -> e.getPerson().getId()).collect(Collectors.toSet()), Set.of(mealDay))
+                .stream().map(s -> s.getPerson().getId())
+                .collect(Collectors.toCollection(HashSet::new));
+        List<WaitlistEntry> handled = new ArrayList<>();
+        List<Signup> signups = new ArrayList<>();
+        for (WaitlistEntry entry : queue) {
+            if (signups.size() == free) {
+                break;
+            }
+            handled.add(entry);
+            Person person = entry.getPerson();
+            if (!booked.add(person.getId()) || !person.isMealSuitable(meal)) {
+                dropped.increment();
+                continue;
+            }
+            Signup signup = new Signup();
+            signup.setMeal(meal);
+            signup.setPerson(person);
+            signup.setMealDay(mealDay);
+            signup.setNote(entry.getNote());
+            signups.add(signup);
+        }
+
+        waitlistRepository.deleteAllInBatch(handled);
+        if (signups.isEmpty()) {
+            return signups;
+        }
+        List<Signup> saved = signupRepository.saveAll(signups);
+        if (mealRepository.addAttendees(mealId, saved.size()) == 0) {
+            // cannot happen while the meal row is locked; fail rather than overbook
+            throw new IllegalStateException("Meal " + mealId + " has no room for promoted signups");
+        }
+        outbox.enqueueSignupConfirmations(saved.stream()
+                .map(s -> new SignupConfirmation(s.getId(), meal, s.getPerson()))
+                .toList());
+        promoted.increment(saved.size());
+        events.publishEvent(new MealChangedEvent(mealId));
+        return saved;
+    }
+}
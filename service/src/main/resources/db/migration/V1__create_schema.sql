@@ -0,0 +1,53 @@
+-- Baseline schema, matching the JPA mappings (validated at startup with ddl-auto: validate).
+
+create sequence meal_seq start with 1 increment by 50;
+
+create table meals (
+    id             bigint       not null,
+    date           timestamp(6),
+    title          varchar(255),
+    cuisine        varchar(255),
+    cuisine_key    varchar(255),
+    dietary_mask   integer      not null,
+    max_attendees  integer,
+    attendee_count integer      not null,
+    created_at     timestamp(6),
+    updated_at     timestamp(6),
+    version        bigint,
+    primary key (id)
+);
+
+create table meal_tags (
+    meal_id bigint not null,
+    tag     varchar(255),
+    constraint fk_meal_tags_meal foreign key (meal_id) references meals
+);
+
+create table persons (
+    id           bigint generated by default as identity,
+    name         varchar(255),
+    email        varchar(255),
+    dietary_mask integer not null,
+    primary key (id)
+);
+
+create table person_dietary_tags (
+    person_id   bigint not null,
+    dietary_tag enum ('GLUTEN_FREE', 'HALAL', 'KOSHER', 'NONE', 'NUT_FREE', 'VEGAN', 'VEGETARIAN'),
+    constraint fk_person_dietary_tags_person foreign key (person_id) references persons
+);
+
+create table signups (
+    id         bigint generated by default as identity,
+    meal_id    bigint       not null,
+    person_id  bigint       not null,
+    meal_day   date         not null,
+    note       varchar(500),
+    created_at timestamp(6),
+    version    bigint,
+    primary key (id),
+    constraint uk_signups_meal_person unique (meal_id, person_id),
+    constraint uk_signups_person_day unique (person_id, meal_day),
+    constraint fk_signups_meal foreign key (meal_id) references meals,
+    constraint fk_signups_person foreign key (person_id) references persons
+);
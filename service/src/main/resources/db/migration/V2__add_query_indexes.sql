@@ -0,0 +1,18 @@
+-- Indexes for the queries in MealRepository and SignupRepository; QueryPlanTest fails if one of them
+-- goes back to a table scan. The signups unique constraints already index (meal_id, person_id) and
+-- (person_id, meal_day), which serve the meal_id and person_id lookups.
+
+-- Date range filters, ORDER BY date and the (date, id) keyset cursor.
+create index idx_meals_date_id on meals (date, id);
+
+-- Case-insensitive cuisine filter; cuisine_key holds lower(cuisine).
+create index idx_meals_cuisine_key_date on meals (cuisine_key, date, id);
+
+-- Tags of a page of meals (covering) and the meal_id foreign key.
+create index idx_meal_tags_meal_tag on meal_tags (meal_id, tag);
+
+-- Meals carrying a given tag.
+create index idx_meal_tags_tag_meal on meal_tags (tag, meal_id);
+
+-- person_id foreign key.
+create index idx_person_dietary_tags_person on person_dietary_tags (person_id, dietary_tag);
@@ -0,0 +1,23 @@
+-- Transactional outbox for notifications: rows are inserted in the transaction that creates the signup
+-- and sent by NotificationOutboxDispatcher after it commits. Sent rows are deleted; rows that keep
+-- failing stay behind with status DEAD and their last error.
+
+create table notification_outbox (
+    id              bigint generated by default as identity,
+    kind            varchar(40)  not null,
+    recipient       varchar(255) not null,
+    meal_id         bigint       not null,
+    meal_title      varchar(255),
+    -- no foreign key: a signup cancelled before dispatch must not be blocked by its notification
+    signup_id       bigint,
+    status          varchar(20)  not null,
+    attempts        integer      not null,
+    -- due time of a PENDING row; pushed forward by a lease while a dispatcher holds it, then by the backoff
+    next_attempt_at timestamp(6) not null,
+    last_error      varchar(500),
+    created_at      timestamp(6) not null,
+    primary key (id)
+);
+
+-- Claim query: due PENDING rows in (next_attempt_at, id) order.
+create index idx_notification_outbox_due on notification_outbox (status, next_attempt_at, id);
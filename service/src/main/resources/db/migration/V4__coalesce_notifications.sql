@@ -0,0 +1,9 @@
+-- Per-recipient digests: a signup confirmation waits out the coalescing window, and the dispatcher sends
+-- it together with every other pending confirmation of the same recipient. Rows claimed by a dispatcher
+-- now have status SENDING until their lease (next_attempt_at) runs out, so a lease can no longer be
+-- mistaken for a PENDING row that is not due yet.
+
+alter table notification_outbox add column meal_date timestamp(6);
+
+-- Pending confirmations of the recipients in a claimed batch.
+create index idx_notification_outbox_recipient on notification_outbox (recipient, status, next_attempt_at);
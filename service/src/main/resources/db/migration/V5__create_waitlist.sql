@@ -0,0 +1,19 @@
+-- Waitlist of full meals, promoted in id (FIFO) order when seats free up. Entries go with their meal.
+
+create table waitlist_entries (
+    id         bigint generated by default as identity,
+    meal_id    bigint not null,
+    person_id  bigint not null,
+    note       varchar(500),
+    created_at timestamp(6),
+    primary key (id),
+    constraint uk_waitlist_meal_person unique (meal_id, person_id),
+    constraint fk_waitlist_meal foreign key (meal_id) references meals on delete cascade,
+    constraint fk_waitlist_person foreign key (person_id) references persons on delete cascade
+);
+
+-- Promotion order and queue positions.
+create index idx_waitlist_meal_id on waitlist_entries (meal_id, id);
+
+-- person_id foreign key.
+create index idx_waitlist_person on waitlist_entries (person_id);
@@ -0,0 +1,22 @@
+-- Idempotency-Key records shared by all nodes (meal-planner.idempotency.store: jdbc). A row is inserted
+-- IN_PROGRESS by the request that reserves the key and holds its response once COMPLETED. Rows are
+-- deleted after expires_at.
+
+create table idempotency_keys (
+    idempotency_key  varchar(255) not null,
+    fingerprint      varchar(64)  not null,
+    state            varchar(20)  not null,
+    -- request holding the key; an IN_PROGRESS row whose locked_until has passed may be taken over
+    owner            varchar(36)  not null,
+    locked_until     timestamp(6) not null,
+    response_status  integer,
+    content_type     varchar(255),
+    location         varchar(2048),
+    body             blob,
+    created_at       timestamp(6) not null,
+    expires_at       timestamp(6) not null,
+    primary key (idempotency_key)
+);
+
+-- Purge of expired rows.
+create index idx_idempotency_keys_expires on idempotency_keys (expires_at);
@@ -0,0 +1,80 @@
+package com.team.meal.planner;
+
+import com.team.meal.planner.entities.Meal;
+import com.team.meal.planner.entities.Person;
+import com.team.meal.planner.repository.MealRepository;
+import com.team.meal.planner.repository.PersonRepository;
+import com.team.meal.planner.service.MealService;
+import com.team.meal.planner.service.SignupService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SignupService signupService;
+
+    @Autowired
+    private MealService mealService;
+
+    @Autowired
+    private MealRepository mealRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Test
+    void prometheusEndpoint_exposesSignupMealServiceAndPoolMetrics() throws Exception {
+        Meal meal = new Meal();
+        meal.setTitle("Metered Lunch");
+        meal.setDate(LocalDateTime.now().plusDays(30));
+        meal.setMaxAttendees(1);
+        mealRepository.save(meal);
+        Person first = new Person();
+        first.setName("First");
+        personRepository.save(first);
+        Person second = new Person();
+        second.setName("Second");
+        personRepository.save(second);
+
+        signupService.createSignup(meal.getId(), first.getId(), null);
+        signupService.createSignup(meal.getId(), first.getId(), null);
+        try {
+            signupService.createSignup(meal.getId(), second.getId(), null);
+        } catch (RuntimeException expected) {
+            // meal is full
+        }
+        mealService.getMealDetails(meal.getId());
+
+        String body = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body)
+                .contains("mealplanner_signup_seconds_count{outcome=\"created\"}")
+                .contains("mealplanner_signup_seconds_count{outcome=\"idempotent\"}")
+                .contains("mealplanner_signup_seconds_count{outcome=\"full\"}")
+                .contains("mealplanner_signup_lock_wait_seconds_bucket")
+                .contains("method=\"getMealDetails\"")
+                .contains("mealplanner_meal_service_seconds_count")
+                .contains("hikaricp_connections_pending")
+                .contains("hikaricp_connections_acquire_seconds_bucket")
+                .contains("executor_pool_max_threads{name=\"emailExecutor\"}");
+    }
+}
@@ -0,0 +1,182 @@
+package com.team.meal.planner.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.team.meal.planner.controller.ReadYourWritesFilter;
+import com.team.meal.planner.dto.MealCreate;
+import com.team.meal.planner.service.MealService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two H2 databases stand in for a primary and a replica that has not caught up: a meal inserted only into
+ * the replica shows which one a request read from.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "meal-planner.datasource.read.enabled=true",
+        "meal-planner.datasource.read.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "meal-planner.outbox.poll-interval=PT1H"
+})
+@AutoConfigureMockMvc
+class ReadWriteRoutingTest {
+
+    private static final long REPLICA_ONLY_MEAL = 900_000L;
+    private static final long LAGGING_MEAL = 900_001L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier(ReadWriteRoutingConfig.PRIMARY_DATA_SOURCE)
+    private HikariDataSource primary;
+
+    @Autowired
+    @Qualifier(ReadWriteRoutingConfig.READ_DATA_SOURCE)
+    private HikariDataSource read;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MealService mealService;
+
+    @BeforeEach
+    void setUp() {
+        // see NotificationOutboxDispatcherTest: other contexts cache people of their own database
+        entityManagerFactory.getCache().evictAll();
+        // the replica gets its schema from the same migrations
+        Flyway.configure().dataSource(read).load().migrate();
+        JdbcTemplate replica = new JdbcTemplate(read);
+        if (replica.queryForObject("SELECT COUNT(*) FROM meals WHERE id = ?", Long.class, REPLICA_ONLY_MEAL) == 0) {
+            replica.update("INSERT INTO meals (id, title, date, dietary_mask, max_attendees, attendee_count, version) "
+                            + "VALUES (?, 'Replica Ramen', ?, 0, 4, 0, 0)",
+                    REPLICA_ONLY_MEAL, Timestamp.valueOf(LocalDateTime.now().plusDays(2)));
+        }
+        // one update behind on the replica
+        insertMealIfMissing(replica, LAGGING_MEAL, 0);
+        insertMealIfMissing(new JdbcTemplate(primary), LAGGING_MEAL, 1);
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReadPool_andEverythingElseThePrimary() {
+        assertThat(primary.getPoolName()).isEqualTo("HikariPool-Local");
+        assertThat(read.getPoolName()).isEqualTo("HikariPool-Read");
+
+        assertThat(countMeals(true)).isOne();
+        assertThat(countMeals(false)).isZero();
+        // no transaction at all: primary
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM meals WHERE id = ?", Long.class,
+                REPLICA_ONLY_MEAL)).isZero();
+        try (ReadWriteRoutingDataSource.Pin ignored = ReadWriteRoutingDataSource.pinPrimary()) {
+            assertThat(countMeals(true)).isZero();
+        }
+
+        assertThat(meterRegistry.get("mealplanner.datasource.connections").tag("route", "read").counter().count())
+                .isPositive();
+        assertThat(meterRegistry.get("hikaricp.connections.active").tag("pool", "HikariPool-Read").gauge())
+                .isNotNull();
+    }
+
+    @Test
+    void writerReadsItsOwnWritesFromThePrimaryWhileOthersReadTheReplica() throws Exception {
+        MealCreate meal = new MealCreate();
+        meal.setTitle("Sticky Stew");
+        meal.setCuisine("Test");
+        meal.setDate(LocalDateTime.now().plusDays(2));
+        meal.setMaxAttendees(4);
+        MockHttpServletResponse created = mockMvc.perform(post("/api/meals")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(meal)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse();
+        Cookie sticky = created.getCookie(ReadYourWritesFilter.COOKIE);
+        assertThat(sticky).isNotNull();
+
+        mockMvc.perform(get("/api/meals").param("cuisine", "Test").cookie(sticky))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Sticky Stew"));
+        mockMvc.perform(get("/api/meals").param("cuisine", "Test"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isEmpty());
+        mockMvc.perform(get("/api/meals").param("dateFrom", LocalDateTime.now().toLocalDate().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Replica Ramen"));
+        // details are cached, so they are always loaded from the primary
+        mockMvc.perform(get(created.getHeader("Location")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.meal.title").value("Sticky Stew"));
+
+        Cookie expired = new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(System.currentTimeMillis() - 1));
+        mockMvc.perform(get("/api/meals").param("cuisine", "Test").cookie(expired))
+                .andExpect(jsonPath("$.content").isEmpty());
+    }
+
+    @Test
+    void conditionalGetComparesTheETagWithThePrimary() throws Exception {
+        // the replica still has version 0, so checking against it would answer 304
+        mockMvc.perform(get("/api/meals/{id}", LAGGING_MEAL).header(HttpHeaders.IF_NONE_MATCH, "\"0-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-0\""));
+        mockMvc.perform(get("/api/meals/{id}", LAGGING_MEAL).header(HttpHeaders.IF_NONE_MATCH, "\"1-0\""))
+                .andExpect(status().isNotModified());
+
+        // also when the caller runs it inside a read-only transaction
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        Long version = readOnly.execute(status -> mealService.getMealVersion(LAGGING_MEAL).getVersion());
+        assertThat(version).isOne();
+    }
+
+    private static void insertMealIfMissing(JdbcTemplate database, long id, long version) {
+        if (database.queryForObject("SELECT COUNT(*) FROM meals WHERE id = ?", Long.class, id) == 0) {
+            database.update("INSERT INTO meals (id, title, date, dietary_mask, max_attendees, attendee_count, version) "
+                            + "VALUES (?, 'Lagging Laksa', ?, 0, 4, 0, ?)",
+                    id, Timestamp.valueOf(LocalDateTime.now().plusDays(1)), version);
+        }
+    }
+
+    private long countMeals(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM meals WHERE id = ?", Long.class, REPLICA_ONLY_MEAL));
+    }
+}
@@ -0,0 +1,265 @@
+package com.team.meal.planner.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.team.meal.planner.dto.MealCreate;
+import com.team.meal.planner.dto.SignupCreate;
+import com.team.meal.planner.entities.Meal;
+import com.team.meal.planner.entities.Person;
+import com.team.meal.planner.repository.MealRepository;
+import com.team.meal.planner.repository.PersonRepository;
+import com.team.meal.planner.service.MealService;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:idempotency-test;DB_CLOSE_DELAY=-1",
+        "meal-planner.outbox.poll-interval=PT1H"
+})
+@AutoConfigureMockMvc
+class IdempotencyFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MealRepository mealRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoSpyBean
+    private MealService mealService;
+
+    @BeforeEach
+    void setUp() {
+        // see NotificationOutboxDispatcherTest: other contexts cache people of their own database
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void retriedCreateMeal_replaysTheFirstResponseWithoutCreatingAnotherMeal() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String body = objectMapper.writeValueAsString(mealCreate("Retry Risotto"));
+        long before = mealRepository.count();
+
+        MockHttpServletResponse first = createMeal(key, body)
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+                .andReturn().getResponse();
+        MockHttpServletResponse retry = createMeal(key, body)
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andReturn().getResponse();
+
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(retry.getHeader(HttpHeaders.LOCATION)).isEqualTo(first.getHeader(HttpHeaders.LOCATION));
+        assertThat(mealRepository.count()).isEqualTo(before + 1);
+        verify(mealService, times(1)).createMeal(any());
+
+        // without a key every request runs
+        createMeal(null, body).andExpect(status().isCreated());
+        assertThat(mealRepository.count()).isEqualTo(before + 2);
+    }
+
+    @Test
+    void cachedBody_canBeReadWithAReadListener() throws Exception {
+        MockHttpServletRequest original = new MockHttpServletRequest("POST", "/api/meals");
+        original.setContent("{\"title\":\"Async\"}".getBytes(StandardCharsets.UTF_8));
+        ServletInputStream in = new IdempotencyFilter.CachedBodyRequest(original).getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        List<String> calls = new ArrayList<>();
+
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                calls.add("onDataAvailable");
+                while (in.isReady() && !in.isFinished()) {
+                    read.write(in.read());
+                }
+            }
+
+            @Override
+            public void onAllDataRead() throws IOException {
+                calls.add("onAllDataRead");
+                throw new IOException("listener failed");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                calls.add("onError: " + t.getMessage());
+            }
+        });
+
+        assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo("{\"title\":\"Async\"}");
+        assertThat(calls).containsExactly("onDataAvailable", "onAllDataRead", "onError: listener failed");
+    }
+
+    @Test
+    void cachedBody_listenerThatStopsEarly_isNotToldAllDataWasRead() throws Exception {
+        MockHttpServletRequest original = new MockHttpServletRequest("POST", "/api/meals");
+        original.setContent("{\"title\":\"Async\"}".getBytes(StandardCharsets.UTF_8));
+        ServletInputStream in = new IdempotencyFilter.CachedBodyRequest(original).getInputStream();
+        List<String> calls = new ArrayList<>();
+
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                calls.add("onDataAvailable");
+                in.read();
+            }
+
+            @Override
+            public void onAllDataRead() {
+                calls.add("onAllDataRead");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                calls.add("onError: " + t.getMessage());
+            }
+        });
+
+        assertThat(in.isFinished()).isFalse();
+        assertThat(calls).containsExactly("onDataAvailable");
+    }
+
+    @Test
+    void keyReusedForADifferentRequest_isRejected() throws Exception {
+        String key = UUID.randomUUID().toString();
+        createMeal(key, objectMapper.writeValueAsString(mealCreate("Soup"))).andExpect(status().isCreated());
+
+        createMeal(key, objectMapper.writeValueAsString(mealCreate("Salad")))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value("Idempotency-Key was already used for a different request"));
+    }
+
+    @Test
+    void signupRejection_isReplayedAndServerErrorsAreNot() throws Exception {
+        Meal meal = new Meal();
+        meal.setTitle("Tiny Tapas");
+        meal.setDate(LocalDateTime.now().plusDays(5));
+        meal.setMaxAttendees(0);
+        meal = mealRepository.save(meal);
+        Person person = new Person();
+        person.setName("Retrying Rita");
+        person = personRepository.save(person);
+        SignupCreate signup = new SignupCreate();
+        signup.setMealId(meal.getId());
+        signup.setPersonId(person.getId());
+        String body = objectMapper.writeValueAsString(signup);
+        String key = UUID.randomUUID().toString();
+
+        createSignup(key, body).andExpect(status().isConflict());
+        createSignup(key, body).andExpect(status().isConflict())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.message").value("Meal is full"));
+
+        String failingKey = UUID.randomUUID().toString();
+        String failing = objectMapper.writeValueAsString(mealCreate("Flaky Fondue"));
+        doAnswer(inv -> { throw new IllegalStateException("database went away"); })
+                .doCallRealMethod()
+                .when(mealService).createMeal(any());
+        createMeal(failingKey, failing).andExpect(status().isInternalServerError());
+        createMeal(failingKey, failing).andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void concurrentRetry_waitsForTheFirstRequestAndGetsItsResponse() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String body = objectMapper.writeValueAsString(mealCreate("Patient Paella"));
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            running.countDown();
+            assertThat(release.await(10, TimeUnit.SECONDS)).isTrue();
+            return inv.callRealMethod();
+        }).when(mealService).createMeal(any());
+        long before = mealRepository.count();
+
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> perform(key, body));
+        assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<MockHttpServletResponse> retry = CompletableFuture.supplyAsync(() -> perform(key, body));
+        Thread.sleep(100);
+        assertThat(retry).isNotDone();
+        release.countDown();
+
+        List<MockHttpServletResponse> responses = List.of(first.get(10, TimeUnit.SECONDS), retry.get(10, TimeUnit.SECONDS));
+        assertThat(responses).extracting(MockHttpServletResponse::getStatus).containsOnly(201);
+        assertThat(responses.get(1).getContentAsString()).isEqualTo(responses.get(0).getContentAsString());
+        assertThat(responses.get(1).getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(mealRepository.count()).isEqualTo(before + 1);
+    }
+
+    private MockHttpServletResponse perform(String key, String body) {
+        try {
+            return createMeal(key, body).andReturn().getResponse();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private ResultActions createMeal(String key, String body) throws Exception {
+        MockHttpServletRequestBuilder request = post("/api/meals").contentType(MediaType.APPLICATION_JSON).content(body);
+        if (key != null) {
+            request.header(IdempotencyFilter.HEADER, key);
+        }
+        return mockMvc.perform(request);
+    }
+
+    private ResultActions createSignup(String key, String body) throws Exception {
+        return mockMvc.perform(post("/api/signups").contentType(MediaType.APPLICATION_JSON).content(body)
+                .header(IdempotencyFilter.HEADER, key));
+    }
+
+    private static MealCreate mealCreate(String title) {
+        MealCreate meal = new MealCreate();
+        meal.setTitle(title);
+        meal.setCuisine("Test");
+        meal.setDate(LocalDateTime.now().plusDays(3));
+        meal.setMaxAttendees(4);
+        return meal;
+    }
+}
@@ -0,0 +1,167 @@
+package com.team.meal.planner.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.team.meal.planner.dto.CursorPage;
+import com.team.meal.planner.dto.MealCreate;
+import com.team.meal.planner.dto.MealDetails;
+import com.team.meal.planner.dto.MealSummary;
+import com.team.meal.planner.entities.Meal;
+import com.team.meal.planner.repository.MealRepository;
+import com.team.meal.planner.service.IdempotencyStore;
+import com.team.meal.planner.service.MealCapacityStream;
+import com.team.meal.planner.service.MealService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(MealController.class)
+// IdempotencyFilter is a web component and registers its counters
+@Import(SimpleMeterRegistry.class)
+class MealControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private MealService mealService;
+
+    @MockitoBean
+    private MealCapacityStream capacityStream;
+
+    @MockitoBean
+    private IdempotencyStore idempotencyStore;
+
+    @Test
+    void createMeal_returns201AndBody() throws Exception {
+        MealCreate req = new MealCreate();
+        req.setTitle("Indian Dinner");
+        req.setCuisine("Indian");
+        req.setDate(LocalDateTime.now().plusDays(1));
+        req.setTags(Set.of("VEGAN_FRIENDLY"));
+        req.setMaxAttendees(10);
+
+        Meal saved = new Meal();
+        saved.setTitle("Indian Dinner");
+        saved.setCuisine("Indian");
+        saved.setDate(req.getDate());
+        saved.setMaxAttendees(10);
+        saved.setTags(Set.of("VEGAN_FRIENDLY"));
+        saved.setVersion(1L);
+
+        Mockito.when(mealService.createMeal(Mockito.any(MealCreate.class)))
+                .thenReturn(saved);
+
+        mockMvc.perform(post("/api/meals")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.title", is("Indian Dinner")))
+                .andExpect(jsonPath("$.cuisine", is("Indian")))
+                .andExpect(jsonPath("$.maxAttendees", is(10)));
+    }
+
+    @Test
+    void createMeal_invalidRequest_returns400() throws Exception {
+        MealCreate invalid = new MealCreate();
+        mockMvc.perform(post("/api/meals")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(invalid)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listMeals_withCursorParam_usesKeysetPagination() throws Exception {
+        MealSummary meal = new MealSummary(1L, "Seek Lunch", "Thai", LocalDateTime.now(), 10, 3, null, null, 0L);
+        Mockito.when(mealService.scrollMeals(null, null, null, null, "", 20, "date,desc"))
+                .thenReturn(new CursorPage<>(List.of(meal), "next-token"));
+
+        mockMvc.perform(get("/api/meals").param("cursor", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title", is("Seek Lunch")))
+                .andExpect(jsonPath("$.nextCursor", is("next-token")))
+                .andExpect(jsonPath("$.hasNext", is(true)));
+
+        Mockito.verify(mealService, Mockito.never())
+                .listMeals(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyInt(), Mockito.anyInt(), Mockito.any());
+    }
+
+    @Test
+    void getMeal_returnsVersionETag() throws Exception {
+        Meal meal = new Meal();
+        meal.setTitle("Tagged Lunch");
+        meal.setVersion(4L);
+        Mockito.when(mealService.getMealDetails(9L)).thenReturn(new MealDetails(meal, 2));
+
+        mockMvc.perform(get("/api/meals/9"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4-2\""))
+                .andExpect(jsonPath("$.meal.title", is("Tagged Lunch")));
+
+        Mockito.verify(mealService, Mockito.never()).getMealVersion(Mockito.any());
+    }
+
+    @Test
+    void getMeal_matchingIfNoneMatch_returns304WithoutLoadingMeal() throws Exception {
+        MealRepository.MealVersion version = Mockito.mock(MealRepository.MealVersion.class);
+        Mockito.when(version.getVersion()).thenReturn(4L);
+        Mockito.when(version.getAttendeeCount()).thenReturn(2);
+        Mockito.when(mealService.getMealVersion(9L)).thenReturn(version);
+
+        mockMvc.perform(get("/api/meals/9").header(HttpHeaders.IF_NONE_MATCH, "\"4-2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        Mockito.verify(mealService, Mockito.never()).getMealDetails(Mockito.any());
+    }
+
+    @Test
+    void getMeal_staleIfNoneMatch_returnsFullBody() throws Exception {
+        MealRepository.MealVersion version = Mockito.mock(MealRepository.MealVersion.class);
+        Mockito.when(version.getVersion()).thenReturn(4L);
+        Mockito.when(version.getAttendeeCount()).thenReturn(3);
+        Mockito.when(mealService.getMealVersion(9L)).thenReturn(version);
+        Meal meal = new Meal();
+        meal.setVersion(4L);
+        Mockito.when(mealService.getMealDetails(9L)).thenReturn(new MealDetails(meal, 3));
+
+        mockMvc.perform(get("/api/meals/9").header(HttpHeaders.IF_NONE_MATCH, "\"4-2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4-3\""));
+    }
+
+    @Test
+    void listMeals_unchangedPage_returns304() throws Exception {
+        MealSummary meal = new MealSummary(1L, "Seek Lunch", "Thai", LocalDateTime.now(), 10, 3, null, null, 0L);
+        Mockito.when(mealService.listMeals(null, null, null, null, 0, 20, "date,desc"))
+                .thenReturn(new PageImpl<>(List.of(meal), PageRequest.of(0, 20), 1));
+
+        String eTag = mockMvc.perform(get("/api/meals"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/meals").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+}
@@ -0,0 +1,63 @@
+package com.team.meal.planner.entities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersonTest {
+
+    @Test
+    void isMealSuitable_untaggedMealSuitsEveryone() {
+        assertTrue(person(DietaryTag.VEGAN, DietaryTag.HALAL).isMealSuitable(meal()));
+    }
+
+    @Test
+    void isMealSuitable_prefixedMealTagSatisfiesRequirement() {
+        Person vegan = person(DietaryTag.VEGAN);
+
+        assertTrue(vegan.isMealSuitable(meal("vegan_options")));
+        assertTrue(vegan.isMealSuitable(meal("VEGAN")));
+        assertFalse(vegan.isMealSuitable(meal("VEGANISH")));
+        assertFalse(vegan.isMealSuitable(meal("VEGETARIAN_FRIENDLY")));
+    }
+
+    @Test
+    void isMealSuitable_everyRequirementMustBeMet() {
+        Person person = person(DietaryTag.VEGETARIAN, DietaryTag.NUT_FREE, DietaryTag.NONE);
+
+        assertTrue(person.isMealSuitable(meal("VEGETARIAN_FRIENDLY", "NUT_FREE", "SPICY")));
+        assertFalse(person.isMealSuitable(meal("VEGETARIAN_FRIENDLY", "SPICY")));
+    }
+
+    @Test
+    void isMealSuitable_personWithoutRequirementsAcceptsAnyMeal() {
+        assertTrue(person().isMealSuitable(meal("SPICY")));
+        assertTrue(person(DietaryTag.NONE).isMealSuitable(meal("SPICY")));
+    }
+
+    @Test
+    void mealMask_followsTagChanges() {
+        Meal meal = meal("HALAL");
+        Person halal = person(DietaryTag.HALAL);
+        assertTrue(halal.isMealSuitable(meal));
+
+        meal.setTags(new HashSet<>(List.of("KOSHER")));
+        assertFalse(halal.isMealSuitable(meal));
+    }
+
+    private static Person person(DietaryTag... tags) {
+        Person person = new Person();
+        person.setDietaryTags(new HashSet<>(List.of(tags)));
+        return person;
+    }
+
+    private static Meal meal(String... tags) {
+        Meal meal = new Meal();
+        meal.setTags(new HashSet<>(Set.of(tags)));
+        return meal;
+    }
+}
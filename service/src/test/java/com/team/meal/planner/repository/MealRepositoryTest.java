@@ -0,0 +1,212 @@
+package com.team.meal.planner.repository;
+
+import com.team.meal.planner.dto.MealSummary;
+import com.team.meal.planner.entities.DietaryTag;
+import com.team.meal.planner.entities.Meal;
+import com.team.meal.planner.entities.Person;
+import com.team.meal.planner.entities.Signup;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class MealRepositoryTest {
+
+    @Autowired
+    private MealRepository mealRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private SignupRepository signupRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void findByFilters_returnsMatchingMeals() {
+        Meal meal1 = new Meal();
+        meal1.setTitle("Vegan Lunch");
+        meal1.setCuisine("Indian");
+        meal1.setDate(LocalDateTime.now().plusDays(2));
+        meal1.setTags(Set.of("VEGAN_FRIENDLY"));
+        meal1.setMaxAttendees(20);
+
+        Meal meal2 = new Meal();
+        meal2.setTitle("Italian Dinner");
+        meal2.setCuisine("Italian");
+        meal2.setDate(LocalDateTime.now().plusDays(3));
+        meal2.setTags(Set.of("VEGETARIAN_FRIENDLY"));
+        meal2.setMaxAttendees(15);
+
+        mealRepository.save(meal1);
+        mealRepository.save(meal2);
+
+        Page<MealSummary> result = mealRepository.findByFilters(
+                LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(5),
+                "Indian",
+                "VEGAN_FRIENDLY",
+                PageRequest.of(0, 10)
+        );
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getContent().get(0).getTitle()).isEqualTo("Vegan Lunch");
+    }
+
+    @Test
+    void findByIdForUpdate_appliesLock() {
+        Meal meal = new Meal();
+        meal.setTitle("Locked Meal");
+        meal.setDate(LocalDateTime.now().plusDays(1));
+        meal.setCuisine("Thai");
+        meal.setMaxAttendees(5);
+        meal.setTags(Set.of("VEGAN_FRIENDLY"));
+        mealRepository.saveAndFlush(meal);
+
+        Meal lockedMeal = mealRepository.findByIdForUpdate(meal.getId()).orElseThrow();
+        entityManager.lock(lockedMeal, LockModeType.PESSIMISTIC_WRITE);
+
+        assertThat(lockedMeal.getId()).isEqualTo(meal.getId());
+    }
+
+    @Test
+    void incrementAttendeeCount_stopsAtCapacity() {
+        Meal meal = new Meal();
+        meal.setTitle("Small Table");
+        meal.setDate(LocalDateTime.now().plusDays(1));
+        meal.setMaxAttendees(2);
+        mealRepository.saveAndFlush(meal);
+
+        assertThat(mealRepository.incrementAttendeeCount(meal.getId())).isEqualTo(1);
+        assertThat(mealRepository.incrementAttendeeCount(meal.getId())).isEqualTo(1);
+        assertThat(mealRepository.incrementAttendeeCount(meal.getId())).isZero();
+
+        entityManager.clear();
+        assertThat(mealRepository.findById(meal.getId()).orElseThrow().getAttendeeCount()).isEqualTo(2);
+    }
+
+    @Test
+    void reconcileAttendeeCounts_repairsDrift() {
+        Meal meal = new Meal();
+        meal.setTitle("Drifted");
+        meal.setDate(LocalDateTime.now().plusDays(1));
+        meal.setMaxAttendees(5);
+        mealRepository.saveAndFlush(meal);
+        mealRepository.incrementAttendeeCount(meal.getId());
+
+        assertThat(mealRepository.reconcileAttendeeCounts()).isEqualTo(1);
+
+        entityManager.clear();
+        assertThat(mealRepository.findById(meal.getId()).orElseThrow().getAttendeeCount()).isZero();
+        assertThat(mealRepository.reconcileAttendeeCounts()).isZero();
+    }
+
+    @Test
+    void keysetPages_walkEveryMealOnceInDateThenIdOrder() {
+        LocalDateTime base = LocalDateTime.now().plusDays(10).withNano(0);
+        for (int i = 0; i < 5; i++) {
+            Meal meal = new Meal();
+            meal.setTitle("Keyset " + i);
+            meal.setCuisine("Seek");
+            // two meals share each timestamp so the id tie-breaker is exercised
+            meal.setDate(base.plusHours(i / 2));
+            meal.setMaxAttendees(5);
+            mealRepository.save(meal);
+        }
+        mealRepository.flush();
+
+        List<String> seen = new ArrayList<>();
+        LocalDateTime afterDate = null;
+        Long afterId = null;
+        for (int page = 0; page < 3; page++) {
+            List<MealSummary> rows = mealRepository.findPageAfterAscending(null, null, "Seek", null, afterDate, afterId, Limit.of(2));
+            rows.forEach(m -> seen.add(m.getTitle()));
+            MealSummary last = rows.get(rows.size() - 1);
+            afterDate = last.getDate();
+            afterId = last.getId();
+        }
+
+        assertThat(seen).containsExactly("Keyset 0", "Keyset 1", "Keyset 2", "Keyset 3", "Keyset 4");
+        assertThat(mealRepository.findPageAfterDescending(null, null, "Seek", null, null, null, Limit.of(2)))
+                .extracting(MealSummary::getTitle).containsExactly("Keyset 4", "Keyset 3");
+    }
+
+    @Test
+    void findTagsByMealIdIn_returnsEveryTagOfThePage() {
+        Meal tagged = new Meal();
+        tagged.setTitle("Tagged");
+        tagged.setDate(LocalDateTime.now().plusDays(4));
+        tagged.setTags(Set.of("HALAL", "NUT_FREE"));
+        Meal untagged = new Meal();
+        untagged.setTitle("Untagged");
+        untagged.setDate(LocalDateTime.now().plusDays(4));
+        mealRepository.save(tagged);
+        mealRepository.save(untagged);
+        mealRepository.flush();
+
+        assertThat(mealRepository.findTagsByMealIdIn(List.of(tagged.getId(), untagged.getId())))
+                .allSatisfy(row -> assertThat(row.getMealId()).isEqualTo(tagged.getId()))
+                .extracting(MealRepository.MealTag::getTag)
+                .containsExactlyInAnyOrder("HALAL", "NUT_FREE");
+    }
+
+    @Test
+    void findEligiblePageAfter_filtersDietCapacityAndBookedDays() {
+        LocalDateTime base = LocalDate.now().plusDays(30).atTime(12, 0);
+        Person person = new Person();
+        person.setName("Vera");
+        person.setDietaryTags(new HashSet<>(Set.of(DietaryTag.VEGAN)));
+        personRepository.save(person);
+
+        Meal booked = eligibilityMeal("Booked day", base, Set.of("VEGAN"), null);
+        eligibilityMeal("Same day as booking", base.withHour(19), Set.of("VEGAN"), null);
+        eligibilityMeal("Not vegan", base.plusDays(1), Set.of("VEGETARIAN_FRIENDLY"), null);
+        Meal full = eligibilityMeal("Full", base.plusDays(1), Set.of("VEGAN"), 1);
+        eligibilityMeal("Vegan options", base.plusDays(2), Set.of("vegan_options"), 5);
+        eligibilityMeal("Untagged", base.plusDays(3), Set.of(), null);
+        eligibilityMeal("Vegan late", base.plusDays(4), Set.of("VEGAN"), 5);
+
+        Signup signup = new Signup();
+        signup.setMeal(booked);
+        signup.setPerson(person);
+        signup.setMealDay(booked.getDate().toLocalDate());
+        signupRepository.save(signup);
+        mealRepository.flush();
+        mealRepository.incrementAttendeeCount(full.getId());
+
+        LocalDateTime from = base.toLocalDate().atStartOfDay();
+        List<MealSummary> firstPage = mealRepository.findEligiblePageAfter(person.getId(), person.getDietaryMask(),
+                from, null, null, null, Limit.of(2));
+        assertThat(firstPage).extracting(MealSummary::getTitle).containsExactly("Vegan options", "Untagged");
+
+        MealSummary last = firstPage.get(1);
+        List<MealSummary> secondPage = mealRepository.findEligiblePageAfter(person.getId(), person.getDietaryMask(),
+                from, null, last.getDate(), last.getId(), Limit.of(2));
+        assertThat(secondPage).extracting(MealSummary::getTitle).containsExactly("Vegan late");
+    }
+
+    private Meal eligibilityMeal(String title, LocalDateTime date, Set<String> tags, Integer maxAttendees) {
+        Meal meal = new Meal();
+        meal.setTitle(title);
+        meal.setDate(date);
+        meal.setTags(new HashSet<>(tags));
+        meal.setMaxAttendees(maxAttendees);
+        return mealRepository.save(meal);
+    }
+}
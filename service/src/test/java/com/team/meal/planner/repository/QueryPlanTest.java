@@ -0,0 +1,330 @@
+package com.team.meal.planner.repository;
+
+import com.team.meal.planner.entities.Meal;
+import com.team.meal.planner.entities.Person;
+import com.team.meal.planner.entities.Signup;
+import com.team.meal.planner.entities.WaitlistEntry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every query of the meal, signup, waitlist and person repositories against a few seeded rows, asks H2
+ * to EXPLAIN the SQL Hibernate actually sent with the values it actually bound, and checks that each plan
+ * uses the index the query was written for. Guards the indexes in db/migration.
+ * <p>
+ * Every index access in a plan must carry a search condition; reading a whole index is as bad as reading
+ * the table. The exceptions are the unfiltered list pages, which walk {@code idx_meals_date_id} in order and
+ * stop after a page, and their count query.
+ */
+@DataJpaTest
+@Import(QueryPlanTest.RecordingDataSource.class)
+class QueryPlanTest {
+
+    /** An index comment in the plan with no condition after the index name: H2 reads the whole index. */
+    private static final Pattern UNCONDITIONED_INDEX = Pattern.compile("/\\* PUBLIC\\.([A-Z0-9_]+) \\*/");
+
+    @Autowired
+    private MealRepository mealRepository;
+
+    @Autowired
+    private SignupRepository signupRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<String, Expectation> queries = new LinkedHashMap<>();
+
+    @Test
+    void repositoryQueries_useTheirIndex() {
+        LocalDateTime from = LocalDateTime.now();
+        LocalDateTime to = from.plusDays(7);
+        Meal thai = meal("Green Curry", "Thai", from.plusDays(1), "HALAL", "VEGAN");
+        Meal italian = meal("Risotto", "Italian", from.plusDays(2), "VEGETARIAN");
+        Meal later = meal("Pad Thai", "Thai", from.plusDays(3));
+        Person ann = person("Ann");
+        Person bob = person("Bob");
+        signup(thai, ann);
+        signup(italian, bob);
+        WaitlistEntry waiting = waitlist(thai, bob);
+        entityManager.flush();
+        entityManager.clear();
+        Long mealId = thai.getId();
+        List<Long> mealIds = List.of(thai.getId(), italian.getId(), later.getId());
+        List<Long> personIds = List.of(ann.getId(), bob.getId());
+        LocalDate day = thai.getDate().toLocalDate();
+
+        check("MealRepository.findById", () -> mealRepository.findById(mealId), "PRIMARY_KEY_");
+        check("MealRepository.findByIdForUpdate", () -> mealRepository.findByIdForUpdate(mealId), "PRIMARY_KEY_");
+        check("MealRepository.findAllByIdForUpdate", () -> mealRepository.findAllByIdForUpdate(mealIds),
+                "PRIMARY_KEY_");
+        check("MealRepository.findWithTagsById", () -> mealRepository.findWithTagsById(mealId),
+                "PRIMARY_KEY_", "IDX_MEAL_TAGS_MEAL_TAG");
+        check("MealRepository.findVersionById", () -> mealRepository.findVersionById(mealId), "PRIMARY_KEY_");
+        check("MealRepository.findCapacityByIdIn", () -> mealRepository.findCapacityByIdIn(mealIds), "PRIMARY_KEY_");
+        check("MealRepository.findAdmissionById", () -> mealRepository.findAdmissionById(mealId), "PRIMARY_KEY_");
+        check("MealRepository.incrementAttendeeCount", () -> mealRepository.incrementAttendeeCount(mealId),
+                "PRIMARY_KEY_");
+        check("MealRepository.incrementAttendeeCountOnDate",
+                () -> mealRepository.incrementAttendeeCountOnDate(mealId, thai.getDate()), "IDX_MEALS_DATE_ID");
+        check("MealRepository.addAttendees", () -> mealRepository.addAttendees(mealId, 2), "PRIMARY_KEY_");
+        check("MealRepository.decrementAttendeeCount", () -> mealRepository.decrementAttendeeCount(mealId),
+                "PRIMARY_KEY_");
+        // A page past the end forces the count query as well.
+        check("MealRepository.findByFilters (cuisine)", () -> mealRepository.findByFilters(from, to, "thai", null,
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "date"))), "IDX_MEALS_CUISINE_KEY_DATE");
+        check("MealRepository.findByFilters (tag)", () -> mealRepository.findByFilters(from, to, null, "HALAL",
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "date"))), "IDX_MEAL_TAGS_TAG_MEAL");
+        check("MealRepository.findByFilters (dates)", () -> mealRepository.findByFilters(from, to, null, null,
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "date"))), "IDX_MEALS_DATE_ID");
+        checkOrderedWalk("MealRepository.findByFilters (no filters)", () -> mealRepository.findByFilters(
+                null, null, null, null, PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "date"))),
+                "IDX_MEALS_DATE_ID");
+        check("MealRepository.findPageAfterAscending", () -> mealRepository.findPageAfterAscending(
+                from, to, "thai", null, thai.getDate(), mealId, Limit.of(3)), "IDX_MEALS_CUISINE_KEY_DATE");
+        check("MealRepository.findPageAfterAscending (tag)", () -> mealRepository.findPageAfterAscending(
+                from, to, null, "HALAL", null, null, Limit.of(3)), "IDX_MEAL_TAGS_TAG_MEAL");
+        checkOrderedWalk("MealRepository.findPageAfterDescending", () -> mealRepository.findPageAfterDescending(
+                null, null, null, null, null, null, Limit.of(3)), "IDX_MEALS_DATE_ID");
+        check("MealRepository.findEligiblePageAfter", () -> mealRepository.findEligiblePageAfter(
+                ann.getId(), 0, from, to, null, null, Limit.of(3)), "IDX_MEALS_DATE_ID", "UK_SIGNUPS_PERSON_DAY");
+        check("MealRepository.findTagsByMealIdIn", () -> mealRepository.findTagsByMealIdIn(mealIds),
+                "IDX_MEAL_TAGS_MEAL_TAG");
+
+        // H2 gives every foreign key an index of its own (FK_..._INDEX_n) and prefers it for single-column lookups.
+        check("SignupRepository.findByMealIdAndPersonId",
+                () -> signupRepository.findByMealIdAndPersonId(mealId, ann.getId()), "UK_SIGNUPS_MEAL_PERSON");
+        check("SignupRepository.existsByMealId", () -> signupRepository.existsByMealId(mealId),
+                "FK_SIGNUPS_MEAL_INDEX_");
+        check("SignupRepository.findPersonIdsByMealId", () -> signupRepository.findPersonIdsByMealId(mealId),
+                "UK_SIGNUPS_MEAL_PERSON");
+        check("SignupRepository.findByMealIdInAndPersonIdIn",
+                () -> signupRepository.findByMealIdInAndPersonIdIn(mealIds, personIds), "UK_SIGNUPS_");
+        check("SignupRepository.findByPersonIdInAndMealDayIn",
+                () -> signupRepository.findByPersonIdInAndMealDayIn(personIds, List.of(day)), "UK_SIGNUPS_PERSON_DAY");
+        check("SignupRepository.findResponsesByPersonIdAndDateBetween",
+                () -> signupRepository.findResponsesByPersonIdAndDateBetween(ann.getId(), from, to),
+                "FK_SIGNUPS_PERSON_INDEX_", "PRIMARY_KEY_");
+        check("SignupRepository.existsByPersonIdAndMealDay",
+                () -> signupRepository.existsByPersonIdAndMealDay(ann.getId(), day), "UK_SIGNUPS_PERSON_DAY");
+        check("SignupRepository.updateMealDay", () -> signupRepository.updateMealDay(italian.getId(),
+                italian.getDate().toLocalDate()), "FK_SIGNUPS_MEAL_INDEX_");
+
+        check("WaitlistRepository.findByMealIdAndPersonId",
+                () -> waitlistRepository.findByMealIdAndPersonId(mealId, bob.getId()), "UK_WAITLIST_MEAL_PERSON");
+        check("WaitlistRepository.countByMealIdAndIdLessThanEqual",
+                () -> waitlistRepository.countByMealIdAndIdLessThanEqual(mealId, waiting.getId()),
+                "IDX_WAITLIST_MEAL_ID");
+        check("WaitlistRepository.findByMealIdOrderById", () -> waitlistRepository.findByMealIdOrderById(mealId),
+                "FK_WAITLIST_MEAL_INDEX_");
+
+        check("PersonRepository.findDietaryMaskById", () -> personRepository.findDietaryMaskById(ann.getId()),
+                "PRIMARY_KEY_");
+
+        // MealRepository.reconcileAttendeeCounts is left out on purpose: it revisits every meal by design.
+
+        List<String> problems = new ArrayList<>();
+        queries.forEach((query, expectation) -> {
+            assertThat(expectation.statements).as("SQL recorded for %s", query).isNotEmpty();
+            StringBuilder plans = new StringBuilder();
+            for (Recorded statement : expectation.statements) {
+                String plan = explain(statement);
+                plans.append(plan);
+                if (plan.contains(".tableScan")) {
+                    problems.add(query + " scans a table:\n" + plan);
+                }
+                Matcher unconditioned = UNCONDITIONED_INDEX.matcher(plan);
+                if (!expectation.orderedWalk && unconditioned.find()) {
+                    problems.add(query + " reads all of " + unconditioned.group(1) + ":\n" + plan);
+                }
+            }
+            for (String index : expectation.indexes) {
+                if (!plans.toString().contains("PUBLIC." + index)) {
+                    problems.add(query + " does not use " + index + ":\n" + plans);
+                }
+            }
+        });
+        assertThat(problems).as("queries not planned on their index").isEmpty();
+    }
+
+    private void check(String query, Runnable call, String... indexes) {
+        queries.put(query, new Expectation(List.of(indexes), false, run(call)));
+    }
+
+    /**
+     * For queries without filters that read an index in order and stop after a page.
+     */
+    private void checkOrderedWalk(String query, Runnable call, String... indexes) {
+        queries.put(query, new Expectation(List.of(indexes), true, run(call)));
+    }
+
+    private List<Recorded> run(Runnable call) {
+        RecordingDataSource.STATEMENTS.clear();
+        RecordingDataSource.recording = true;
+        try {
+            call.run();
+            entityManager.flush();
+        } finally {
+            RecordingDataSource.recording = false;
+        }
+        entityManager.clear();
+        return List.copyOf(RecordingDataSource.STATEMENTS);
+    }
+
+    private String explain(Recorded statement) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) con -> {
+            try (PreparedStatement ps = con.prepareStatement("EXPLAIN " + statement.sql())) {
+                for (int i = 0; i < statement.parameters().size(); i++) {
+                    ps.setObject(i + 1, statement.parameters().get(i));
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    StringBuilder plan = new StringBuilder();
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                }
+            }
+        });
+    }
+
+    private Meal meal(String title, String cuisine, LocalDateTime date, String... tags) {
+        Meal meal = new Meal();
+        meal.setTitle(title);
+        meal.setCuisine(cuisine);
+        meal.setDate(date);
+        meal.setMaxAttendees(10);
+        meal.setTags(new HashSet<>(Arrays.asList(tags)));
+        entityManager.persist(meal);
+        return meal;
+    }
+
+    private Person person(String name) {
+        Person person = new Person();
+        person.setName(name);
+        entityManager.persist(person);
+        return person;
+    }
+
+    private void signup(Meal meal, Person person) {
+        Signup signup = new Signup();
+        signup.setMeal(meal);
+        signup.setPerson(person);
+        signup.setMealDay(meal.getDate().toLocalDate());
+        entityManager.persist(signup);
+    }
+
+    private WaitlistEntry waitlist(Meal meal, Person person) {
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setMeal(meal);
+        entry.setPerson(person);
+        entityManager.persist(entry);
+        return entry;
+    }
+
+    private record Expectation(List<String> indexes, boolean orderedWalk, List<Recorded> statements) {
+    }
+
+    record Recorded(String sql, List<Object> parameters) {
+    }
+
+    /**
+     * Wraps the test data source so that, while {@link #recording}, every executed prepared statement is kept
+     * with the values bound to it.
+     */
+    static class RecordingDataSource implements BeanPostProcessor {
+
+        static final List<Recorded> STATEMENTS = new CopyOnWriteArrayList<>();
+        static volatile boolean recording;
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return proxy(DataSource.class, dataSource, (method, result, args) ->
+                    result instanceof Connection con ? proxy(Connection.class, con, RecordingDataSource::onConnection)
+                            : result);
+        }
+
+        private static Object onConnection(Method method, Object result, Object[] args) {
+            if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement ps) {
+                String sql = (String) args[0];
+                Map<Integer, Object> parameters = new TreeMap<>();
+                return proxy(PreparedStatement.class, ps, (m, r, a) -> {
+                    String name = m.getName();
+                    if (name.startsWith("set") && a != null && a.length >= 2 && a[0] instanceof Integer index) {
+                        parameters.put(index, name.equals("setNull") ? null : a[1]);
+                    } else if (name.equals("clearParameters")) {
+                        parameters.clear();
+                    } else if (recording && (name.startsWith("execute") || name.equals("addBatch"))) {
+                        STATEMENTS.add(new Recorded(sql, new ArrayList<>(parameters.values())));
+                    }
+                    return r;
+                });
+            }
+            return result;
+        }
+
+        /**
+         * A proxy that calls {@code target} and passes the result through {@code after}.
+         */
+        private static <T> T proxy(Class<T> type, T target, After after) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+                return after.apply(method, result, args);
+            };
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+        }
+
+        @FunctionalInterface
+        private interface After {
+            Object apply(Method method, Object result, Object[] args) throws Exception;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.team.meal.planner.repository;
+
+import com.team.meal.planner.dto.SignupResponse;
+import com.team.meal.planner.entities.Meal;
+import com.team.meal.planner.entities.Person;
+import com.team.meal.planner.entities.Signup;
+import com.team.meal.planner.exception.ConstraintViolations;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SignupRepositoryTest {
+
+    @Autowired
+    private SignupRepository signupRepository;
+
+    @Autowired
+    private MealRepository mealRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void secondMealOnSameDay_violatesPersonDayConstraint() {
+        LocalDateTime lunch = LocalDateTime.now().plusDays(1).withHour(12);
+        Meal first = meal("Lunch", lunch);
+        Meal second = meal("Dinner", lunch.withHour(19));
+        Person person = personRepository.save(new Person());
+
+        signupRepository.saveAndFlush(signup(first, person));
+
+        DataIntegrityViolationException ex = catchThrowableOfType(DataIntegrityViolationException.class,
+                () -> signupRepository.saveAndFlush(signup(second, person)));
+
+        assertThat(ex).isNotNull();
+        assertThat(ConstraintViolations.isViolationOf(ex, Signup.PERSON_DAY_CONSTRAINT)).isTrue();
+        assertThat(ConstraintViolations.isViolationOf(ex, Signup.MEAL_PERSON_CONSTRAINT)).isFalse();
+    }
+
+    @Test
+    void updateMealDay_movesEverySignupOfTheMeal() {
+        Meal meal = meal("Moved", LocalDateTime.now().plusDays(2));
+        Signup signup = signupRepository.saveAndFlush(signup(meal, personRepository.save(new Person())));
+
+        int updated = signupRepository.updateMealDay(meal.getId(), meal.getDate().toLocalDate().plusDays(3));
+
+        assertThat(updated).isEqualTo(1);
+        entityManager.clear();
+        assertThat(signupRepository.findById(signup.getId()).orElseThrow().getMealDay())
+                .isEqualTo(meal.getDate().toLocalDate().plusDays(3));
+    }
+
+    @Test
+    void findResponsesByPersonIdAndDateBetween_buildsTheWeekInOneStatement() {
+        LocalDateTime monday = LocalDate.now().plusWeeks(1).with(DayOfWeek.MONDAY).atTime(12, 0);
+        Person person = new Person();
+        person.setName("Busy");
+        personRepository.save(person);
+        for (int day = 0; day < 5; day++) {
+            signupRepository.save(signup(meal("Lunch " + day, monday.plusDays(day)), person));
+        }
+        signupRepository.save(signup(meal("Next week", monday.plusDays(7)), person));
+        signupRepository.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<SignupResponse> week = signupRepository.findResponsesByPersonIdAndDateBetween(
+                person.getId(), monday.toLocalDate().atStartOfDay(), monday.plusDays(7).toLocalDate().atStartOfDay().minusNanos(1));
+
+        assertThat(week).extracting(SignupResponse::getMealTitle)
+                .containsExactly("Lunch 0", "Lunch 1", "Lunch 2", "Lunch 3", "Lunch 4");
+        assertThat(week).allSatisfy(r -> assertThat(r.getPersonName()).isEqualTo("Busy"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    private Meal meal(String title, LocalDateTime date) {
+        Meal meal = new Meal();
+        meal.setTitle(title);
+        meal.setDate(date);
+        meal.setMaxAttendees(10);
+        return mealRepository.save(meal);
+    }
+
+    private Signup signup(Meal meal, Person person) {
+        Signup signup = new Signup();
+        signup.setMeal(meal);
+        signup.setPerson(person);
+        signup.setMealDay(meal.getDate().toLocalDate());
+        return signup;
+    }
+}
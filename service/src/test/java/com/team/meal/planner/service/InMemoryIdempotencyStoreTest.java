@@ -0,0 +1,42 @@
+package com.team.meal.planner.service;
+
+import com.team.meal.planner.service.IdempotencyStore.Reservation;
+import com.team.meal.planner.service.IdempotencyStore.State;
+import com.team.meal.planner.service.IdempotencyStore.StoredResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryIdempotencyStoreTest {
+
+    private static final StoredResponse CREATED = new StoredResponse(201, null, null, new byte[0]);
+
+    @Test
+    void keysStillRunning_areNotEvictedWhenTheStoreIsFull() throws InterruptedException {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(1, Duration.ofHours(1));
+        Reservation running = store.reserve("running", "fp");
+        for (int i = 0; i < 50; i++) {
+            store.complete(store.reserve("done-" + i, "fp"), CREATED);
+        }
+
+        // eviction runs in the background; wait until it has dropped completed keys
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        boolean evicted = false;
+        while (!evicted && System.nanoTime() < deadline) {
+            Reservation probe = store.reserve("done-0", "fp");
+            evicted = probe.state() == State.ACQUIRED;
+            if (evicted) {
+                store.release(probe);
+            } else {
+                Thread.sleep(10);
+            }
+        }
+
+        assertThat(evicted).isTrue();
+        assertThat(store.reserve("running", "fp").state()).isEqualTo(State.IN_PROGRESS);
+        store.complete(running, CREATED);
+        assertThat(store.reserve("running", "fp").state()).isEqualTo(State.COMPLETED);
+    }
+}
@@ -0,0 +1,80 @@
+package com.team.meal.planner.service;
+
+import com.team.meal.planner.service.IdempotencyStore.Reservation;
+import com.team.meal.planner.service.IdempotencyStore.State;
+import com.team.meal.planner.service.IdempotencyStore.StoredResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest
+@Import(JdbcIdempotencyStore.class)
+@TestPropertySource(properties = {"meal-planner.idempotency.store=jdbc", "meal-planner.idempotency.lock-timeout=PT1M"})
+// each statement commits, as it does behind IdempotencyFilter
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JdbcIdempotencyStoreTest {
+
+    @Autowired
+    private JdbcIdempotencyStore store;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void firstRequestReservesAndLaterOnesSeeItsProgressThenItsResponse() {
+        Reservation first = store.reserve("k1", "fp");
+        assertThat(first.state()).isEqualTo(State.ACQUIRED);
+
+        Reservation concurrent = store.reserve("k1", "fp");
+        assertThat(concurrent.state()).isEqualTo(State.IN_PROGRESS);
+        assertThat(concurrent.fingerprint()).isEqualTo("fp");
+
+        store.complete(first, new StoredResponse(201, "application/json", "/api/meals/7",
+                "{\"id\":7}".getBytes(StandardCharsets.UTF_8)));
+
+        Reservation retry = store.reserve("k1", "other");
+        assertThat(retry.state()).isEqualTo(State.COMPLETED);
+        assertThat(retry.fingerprint()).isEqualTo("fp");
+        assertThat(retry.response().status()).isEqualTo(201);
+        assertThat(retry.response().location()).isEqualTo("/api/meals/7");
+        assertThat(new String(retry.response().body(), StandardCharsets.UTF_8)).isEqualTo("{\"id\":7}");
+    }
+
+    @Test
+    void releasedOrAbandonedKeys_canBeReservedAgain() {
+        store.release(store.reserve("k2", "fp"));
+        assertThat(store.reserve("k2", "fp").state()).isEqualTo(State.ACQUIRED);
+
+        Reservation abandoned = store.reserve("k3", "fp");
+        jdbcTemplate.update("UPDATE idempotency_keys SET locked_until = ? WHERE idempotency_key = 'k3'",
+                Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)));
+        Reservation takenOver = store.reserve("k3", "fp");
+        assertThat(takenOver.state()).isEqualTo(State.ACQUIRED);
+
+        // the abandoned holder can no longer overwrite or drop the new holder's key
+        store.complete(abandoned, new StoredResponse(500, null, null, new byte[0]));
+        store.release(abandoned);
+        assertThat(store.reserve("k3", "fp").state()).isEqualTo(State.IN_PROGRESS);
+    }
+
+    @Test
+    void expiredKeys_arePurged() {
+        store.reserve("k4", "fp");
+        jdbcTemplate.update("UPDATE idempotency_keys SET expires_at = ? WHERE idempotency_key = 'k4'",
+                Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)));
+
+        assertThat(store.purgeExpired()).isEqualTo(1);
+        assertThat(store.reserve("k4", "fp").state()).isEqualTo(State.ACQUIRED);
+    }
+}
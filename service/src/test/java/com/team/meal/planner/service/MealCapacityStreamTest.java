@@ -0,0 +1,197 @@
+package com.team.meal.planner.service;
+
+import com.team.meal.planner.entities.Meal;
+import com.team.meal.planner.entities.Person;
+import com.team.meal.planner.repository.MealRepository;
+import com.team.meal.planner.repository.PersonRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Flushes and heartbeats are triggered by hand: both schedules are set to an hour.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:meal-stream-test;DB_CLOSE_DELAY=-1",
+        "meal-planner.outbox.poll-interval=PT1H",
+        "meal-planner.meal-stream.coalesce-interval=PT1H",
+        "meal-planner.meal-stream.heartbeat-interval=PT1H",
+        "meal-planner.meal-stream.max-meals=3"
+})
+@AutoConfigureMockMvc
+class MealCapacityStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MealCapacityStream stream;
+
+    @Autowired
+    private SignupService signupService;
+
+    @Autowired
+    private MealRepository mealRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        // see NotificationOutboxDispatcherTest: other contexts cache people of their own database
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void stream_sendsCurrentCountsThenOneCoalescedEventPerBurst() throws Exception {
+        Meal meal = meal();
+        MockHttpServletResponse response = open(meal.getId() + ",999999");
+
+        stream.flush();
+        String initial = await(response, body -> body.split("event:capacity", -1).length == 3);
+        assertThat(initial).contains("event:capacity")
+                .contains("\"mealId\":" + meal.getId() + ",\"version\":0,\"attendeeCount\":0,\"maxAttendees\":5")
+                .contains("\"seatsLeft\":5")
+                .contains("\"mealId\":999999,\"version\":null,\"attendeeCount\":0,\"maxAttendees\":null,"
+                        + "\"deleted\":true");
+
+        signupService.createSignup(meal.getId(), person().getId(), null);
+        signupService.createSignup(meal.getId(), person().getId(), null);
+        stream.flush();
+
+        String afterBurst = await(response, body -> body.contains("\"attendeeCount\":2")).substring(initial.length());
+        assertThat(afterBurst).doesNotContain("\"attendeeCount\":1");
+        assertThat(afterBurst.split("event:capacity", -1)).hasSize(2);
+
+        stream.heartbeat();
+        assertThat(await(response, body -> body.endsWith(":heartbeat\n\n"))).isNotNull();
+    }
+
+    @Test
+    void changesToOtherMeals_areNotSent() throws Exception {
+        Meal watched = meal();
+        Meal other = meal();
+        MockHttpServletResponse response = open(String.valueOf(watched.getId()));
+        stream.flush();
+        String initial = await(response, body -> body.contains("\"mealId\":" + watched.getId()));
+
+        signupService.createSignup(other.getId(), person().getId(), null);
+        stream.flush();
+        stream.heartbeat();
+
+        assertThat(await(response, body -> body.endsWith(":heartbeat\n\n")).substring(initial.length()))
+                .doesNotContain("event:capacity");
+    }
+
+    @Test
+    void concurrentSubscribeAndUnsubscribe_neverLosesAnOpenSubscriber() throws Exception {
+        Meal meal = meal();
+        String ids = String.valueOf(meal.getId());
+        int before = stream.subscriberCount();
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<MvcResult> kept = new ArrayList<>();
+        try {
+            List<Future<MvcResult>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    // the meal's set keeps emptying, so subscribers race the removal of the set itself
+                    for (int i = 0; i < 200; i++) {
+                        close(subscribe(ids));
+                    }
+                    return subscribe(ids);
+                }));
+            }
+            for (Future<MvcResult> future : futures) {
+                kept.add(future.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(stream.subscriberCount()).isEqualTo(before + threads);
+        stream.flush();
+        // a subscriber missing from the meal's set would never get its first event
+        for (MvcResult result : kept) {
+            assertThat(await(result.getResponse(), body -> body.contains("\"mealId\":" + meal.getId()))).isNotNull();
+        }
+        kept.forEach(MealCapacityStreamTest::close);
+        assertThat(stream.subscriberCount()).isEqualTo(before);
+    }
+
+    @Test
+    void stream_rejectsTooManyMeals() throws Exception {
+        mockMvc.perform(get("/api/meals/stream").param("ids", "1,2,3,4"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private MockHttpServletResponse open(String ids) throws Exception {
+        int before = stream.subscriberCount();
+        MockHttpServletResponse response = subscribe(ids).getResponse();
+        assertThat(stream.subscriberCount()).isEqualTo(before + 1);
+        return response;
+    }
+
+    private MvcResult subscribe(String ids) throws Exception {
+        return mockMvc.perform(get("/api/meals/stream").param("ids", ids))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    /**
+     * Ends the request as the container does when the client goes away, which runs the emitter's
+     * completion callback.
+     */
+    private static void close(MvcResult result) {
+        result.getRequest().getAsyncContext().complete();
+    }
+
+    private static String await(MockHttpServletResponse response, Predicate<String> condition) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (true) {
+            String body = response.getContentAsString();
+            if (condition.test(body)) {
+                return body;
+            }
+            assertThat(System.nanoTime()).as("stream body so far: %s", body).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private Meal meal() {
+        Meal meal = new Meal();
+        meal.setTitle("Stream Lunch");
+        meal.setDate(LocalDateTime.now().plusDays(30));
+        meal.setMaxAttendees(5);
+        return mealRepository.save(meal);
+    }
+
+    private Person person() {
+        Person person = new Person();
+        person.setName("Streamer");
+        return personRepository.save(person);
+    }
+}
@@ -0,0 +1,89 @@
+package com.team.meal.planner.service;
+
+import com.team.meal.planner.entities.Meal;
+import com.team.meal.planner.entities.Person;
+import com.team.meal.planner.repository.MealRepository;
+import com.team.meal.planner.repository.PersonRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class MealDetailsCacheTest {
+
+    @Autowired
+    private MealService mealService;
+
+    @Autowired
+    private SignupService signupService;
+
+    @Autowired
+    private MealDetailsCache mealDetailsCache;
+
+    @Autowired
+    private MealRepository mealRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void repeatedReads_areServedFromCacheUntilASignupCommits() {
+        Meal meal = meal();
+        Person person = new Person();
+        person.setName("Polling Pat");
+        personRepository.save(person);
+
+        long hits = mealDetailsCache.stats().hitCount();
+        long misses = mealDetailsCache.stats().missCount();
+
+        assertThat(mealService.getMealDetails(meal.getId()).getAttendeeCount()).isZero();
+        assertThat(mealService.getMealDetails(meal.getId()).getMeal().getTags()).containsExactly("HALAL");
+        assertThat(mealDetailsCache.stats().missCount() - misses).isEqualTo(1);
+        assertThat(mealDetailsCache.stats().hitCount() - hits).isEqualTo(1);
+
+        signupService.createSignup(meal.getId(), person.getId(), null);
+
+        assertThat(mealService.getMealDetails(meal.getId()).getAttendeeCount()).isEqualTo(1);
+        assertThat(mealDetailsCache.stats().missCount() - misses).isEqualTo(2);
+    }
+
+    @Test
+    void rolledBackChange_leavesCachedEntryInPlace() {
+        Meal meal = meal();
+        mealService.getMealDetails(meal.getId());
+        long misses = mealDetailsCache.stats().missCount();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            events.publishEvent(new MealChangedEvent(meal.getId()));
+            status.setRollbackOnly();
+        });
+        mealService.getMealDetails(meal.getId());
+        assertThat(mealDetailsCache.stats().missCount()).isEqualTo(misses);
+
+        transactionTemplate.executeWithoutResult(status -> events.publishEvent(new MealChangedEvent(meal.getId())));
+        mealService.getMealDetails(meal.getId());
+        assertThat(mealDetailsCache.stats().missCount()).isEqualTo(misses + 1);
+    }
+
+    private Meal meal() {
+        Meal meal = new Meal();
+        meal.setTitle("Dashboard Lunch");
+        meal.setDate(LocalDateTime.now().plusDays(3));
+        meal.setTags(Set.of("HALAL"));
+        meal.setMaxAttendees(10);
+        return mealRepository.save(meal);
+    }
+}
@@ -0,0 +1,91 @@
+package com.team.meal.planner.service;
+
+import com.team.meal.planner.dto.MealImportReport;
+import com.team.meal.planner.repository.MealRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+class MealImportServiceTest {
+
+    @Autowired
+    private MealImportService mealImportService;
+
+    @Autowired
+    private MealRepository mealRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void ndjsonImport_writesValidRowsInBatchesAndReportsBadOnes() throws Exception {
+        LocalDateTime date = LocalDate.now().plusDays(40).atTime(12, 0);
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 120; i++) {
+            body.append("{\"title\":\"Bulk ").append(i).append("\",\"cuisine\":\"Batch\",\"date\":\"")
+                    .append(date).append("\",\"tags\":[\"VEGAN_FRIENDLY\",\"NUT_FREE\"],\"maxAttendees\":10}\n");
+        }
+        body.append("{\"title\":\"\",\"date\":\"").append(date).append("\",\"maxAttendees\":0}\n");
+        body.append("{not json}\n");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        MealImportReport report = mealImportService.importMeals(stream(body.toString()), MealImportService.Format.NDJSON);
+
+        assertThat(report.getRowsRead()).isEqualTo(122);
+        assertThat(report.getImported()).isEqualTo(120);
+        assertThat(report.getFailed()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting(MealImportReport.RowError::getLine).containsExactly(121L, 122L);
+        assertThat(report.getErrors().get(0).getMessage())
+                .isEqualTo("Max attendees must be at least 1; Title is required");
+        assertThat(report.getRowsPerSecond()).isPositive();
+        // 120 meals + 240 tag rows go out as a handful of JDBC batches, not one statement per row.
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(20);
+        assertThat(mealRepository.findByFilters(null, null, "Batch", null, PageRequest.of(0, 1)).getTotalElements())
+                .isEqualTo(120);
+    }
+
+    @Test
+    void csvImport_parsesQuotedFieldsAndTags() throws Exception {
+        LocalDateTime date = LocalDate.now().plusDays(41).atTime(19, 30);
+        String csv = """
+                title,cuisine,date,tags,maxAttendees
+                "Curry, Rice & Naan",CsvCuisine,%1$s,VEGAN_OPTIONS|HALAL,12
+                "Quoted \"\"Special\"\"",CsvCuisine,%1$s,,8
+                Bad Row,CsvCuisine,not-a-date,,8
+                Bad Number,CsvCuisine,%1$s,,abc
+                """.formatted(date);
+
+        MealImportReport report = mealImportService.importMeals(stream(csv), MealImportService.Format.CSV);
+
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getFailed()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting(MealImportReport.RowError::getLine).containsExactly(4L, 5L);
+        assertThat(mealRepository.findByFilters(null, null, "CsvCuisine", "HALAL", PageRequest.of(0, 5)).getContent())
+                .singleElement()
+                .satisfies(meal -> {
+                    assertThat(meal.getTitle()).isEqualTo("Curry, Rice & Naan");
+                    assertThat(meal.getMaxAttendees()).isEqualTo(12);
+                });
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,218 @@
+package com.team.meal.planner.service;
+
+import com.team.meal.planner.dto.CursorPage;
+import com.team.meal.planner.dto.MealSummary;
+import com.team.meal.planner.dto.MealUpdate;
+import com.team.meal.planner.entities.Meal;
+import com.team.meal.planner.exception.BadRequestException;
+import com.team.meal.planner.exception.ConflictException;
+import com.team.meal.planner.repository.MealRepository;
+import com.team.meal.planner.repository.PersonRepository;
+import com.team.meal.planner.repository.SignupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MealServiceTest {
+
+    MealRepository mealRepository;
+    SignupRepository signupRepository;
+    PersonRepository personRepository;
+    ApplicationEventPublisher events;
+    MealService mealService;
+
+    @BeforeEach
+    void setUp() {
+        mealRepository = mock(MealRepository.class);
+        signupRepository = mock(SignupRepository.class);
+        personRepository = mock(PersonRepository.class);
+        events = mock(ApplicationEventPublisher.class);
+        mealService = new MealService(mealRepository, signupRepository, personRepository,
+                new MealDetailsCache(100, Duration.ofMinutes(1)), mock(WaitlistService.class), events);
+    }
+
+    @Test
+    void updateMeal_conflict_onOptimisticLocking() {
+        Meal existing = new Meal();
+        existing.setDate(LocalDateTime.now().plusDays(1));
+        existing.setTitle("Pasta");
+        existing.setCuisine("Italian");
+        existing.setMaxAttendees(10);
+
+        when(mealRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(existing));
+
+        MealUpdate update = new MealUpdate();
+        update.setTitle("Updated Pasta");
+        update.setVersion(1L);
+
+        when(mealRepository.save(any(Meal.class))).thenThrow(new OptimisticLockingFailureException("Optimistic lock failed"));
+
+        assertThrows(ConflictException.class, () -> mealService.updateMeal(5L, update));
+
+        verify(mealRepository, times(1)).findByIdForUpdate(5L);
+        verify(mealRepository, times(1)).save(any(Meal.class));
+    }
+
+    @Test
+    void updateMeal_movingToAnotherDay_movesSignupDays() {
+        Meal existing = new Meal();
+        existing.setDate(LocalDateTime.now().plusDays(1));
+        existing.setTitle("Tacos");
+
+        when(mealRepository.findByIdForUpdate(6L)).thenReturn(Optional.of(existing));
+        when(mealRepository.save(any(Meal.class))).thenAnswer(i -> i.getArgument(0));
+
+        MealUpdate update = new MealUpdate();
+        update.setDate(existing.getDate().plusDays(2));
+
+        mealService.updateMeal(6L, update);
+
+        verify(signupRepository).updateMealDay(6L, update.getDate().toLocalDate());
+        verify(events).publishEvent(new MealChangedEvent(6L));
+    }
+
+    @Test
+    void updateMeal_sameDay_leavesSignupsAlone() {
+        Meal existing = new Meal();
+        existing.setDate(LocalDateTime.now().plusDays(1).withHour(12));
+
+        when(mealRepository.findByIdForUpdate(7L)).thenReturn(Optional.of(existing));
+        when(mealRepository.save(any(Meal.class))).thenAnswer(i -> i.getArgument(0));
+
+        MealUpdate update = new MealUpdate();
+        update.setDate(existing.getDate().withHour(13));
+
+        mealService.updateMeal(7L, update);
+
+        verify(signupRepository, never()).updateMealDay(any(), any());
+    }
+
+    @Test
+    void scrollMeals_returnsCursorOnlyWhenMoreRowsExist() {
+        LocalDateTime date = LocalDateTime.of(2030, 1, 2, 12, 0);
+        MealSummary first = summary(41L, date);
+        MealSummary second = summary(42L, date);
+        MealSummary extra = summary(40L, date.minusDays(1));
+        when(mealRepository.findTagsByMealIdIn(List.of(41L, 42L))).thenReturn(List.of(tag(42L, "HALAL")));
+        when(mealRepository.findPageAfterDescending(any(), any(), any(), any(), any(), any(), eq(Limit.of(3))))
+                .thenReturn(List.of(first, second, extra));
+
+        CursorPage<MealSummary> page = mealService.scrollMeals(null, null, null, null, "", 2, "date,desc");
+
+        assertEquals(List.of(first, second), page.getContent());
+        assertEquals(Set.of(), first.getTags());
+        assertEquals(Set.of("HALAL"), second.getTags());
+        verify(mealRepository, times(1)).findTagsByMealIdIn(any());
+        assertTrue(page.isHasNext());
+        MealCursor next = MealCursor.decode(page.getNextCursor(), true);
+        assertFalse(next.ascending());
+        assertEquals(date, next.date());
+        assertEquals(42L, next.id());
+
+        when(mealRepository.findPageAfterDescending(any(), any(), any(), any(), eq(date), eq(42L), eq(Limit.of(3))))
+                .thenReturn(List.of(extra));
+        CursorPage<MealSummary> last = mealService.scrollMeals(null, null, null, null, page.getNextCursor(), 2, "date,desc");
+        assertEquals(List.of(extra), last.getContent());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void scrollMeals_rejectsGarbageCursor() {
+        assertThrows(BadRequestException.class,
+                () -> mealService.scrollMeals(null, null, null, null, "not-a-cursor", 2, "date,desc"));
+    }
+
+    @Test
+    void scrollMeals_capsThePageSize() {
+        when(mealRepository.findPageAfterDescending(any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(List.of());
+
+        mealService.scrollMeals(null, null, null, null, "", Integer.MAX_VALUE, "date,desc");
+
+        verify(mealRepository).findPageAfterDescending(any(), any(), any(), any(), isNull(), isNull(),
+                eq(Limit.of(MealService.MAX_PAGE_SIZE + 1)));
+    }
+
+    @Test
+    void listEligibleMeals_capsThePageSize() {
+        when(personRepository.findDietaryMaskById(7L)).thenReturn(Optional.of(0));
+        when(mealRepository.findEligiblePageAfter(any(), anyInt(), any(), any(), any(), any(), any()))
+                .thenReturn(List.of());
+
+        mealService.listEligibleMeals(7L, null, null, null, Integer.MAX_VALUE);
+
+        verify(mealRepository).findEligiblePageAfter(eq(7L), eq(0), any(), isNull(), isNull(), isNull(),
+                eq(Limit.of(MealService.MAX_PAGE_SIZE + 1)));
+    }
+
+    @Test
+    void listEligibleMeals_unknownPerson_rejected() {
+        when(personRepository.findDietaryMaskById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(BadRequestException.class, () -> mealService.listEligibleMeals(99L, null, null, null, 20));
+        verify(mealRepository, never()).findEligiblePageAfter(any(), anyInt(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void listEligibleMeals_queriesWithPersonMaskFromNow() {
+        when(personRepository.findDietaryMaskById(7L)).thenReturn(Optional.of(0b10));
+        when(mealRepository.findEligiblePageAfter(eq(7L), eq(0b10), any(), any(), any(), any(), any()))
+                .thenReturn(List.of());
+
+        LocalDateTime before = LocalDateTime.now();
+        CursorPage<MealSummary> page = mealService.listEligibleMeals(7L, null, null, null, 0);
+        mealService.listEligibleMeals(7L, LocalDate.now(), null, null, 0);
+        LocalDateTime after = LocalDateTime.now();
+
+        assertTrue(page.getContent().isEmpty());
+        assertNull(page.getNextCursor());
+        ArgumentCaptor<LocalDateTime> from = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(mealRepository, times(2)).findEligiblePageAfter(eq(7L), eq(0b10), from.capture(), isNull(),
+                isNull(), isNull(), eq(Limit.of(21)));
+        // earlier meals of today have already started
+        for (LocalDateTime value : from.getAllValues()) {
+            assertFalse(value.isBefore(before));
+            assertFalse(value.isAfter(after));
+        }
+    }
+
+    @Test
+    void listEligibleMeals_laterDateFrom_startsAtTheStartOfThatDay() {
+        LocalDate nextWeek = LocalDate.now().plusDays(7);
+        when(personRepository.findDietaryMaskById(7L)).thenReturn(Optional.of(0));
+        when(mealRepository.findEligiblePageAfter(any(), anyInt(), any(), any(), any(), any(), any()))
+                .thenReturn(List.of());
+
+        mealService.listEligibleMeals(7L, nextWeek, null, null, 5);
+
+        verify(mealRepository).findEligiblePageAfter(7L, 0, nextWeek.atStartOfDay(), null, null, null, Limit.of(6));
+    }
+
+    private static MealSummary summary(Long id, LocalDateTime date) {
+        return new MealSummary(id, "Meal " + id, "Any", date, 10, 0, null, null, 0L);
+    }
+
+    private static MealRepository.MealTag tag(Long mealId, String tag) {
+        return new MealRepository.MealTag() {
+            @Override
+            public Long getMealId() { return mealId; }
+
+            @Override
+            public String getTag() { return tag; }
+        };
+    }
+}
@@ -0,0 +1,218 @@
+package com.team.meal.planner.service;
+
+import com.team.meal.planner.entities.Meal;
+import com.team.meal.planner.entities.Person;
+import com.team.meal.planner.repository.MealRepository;
+import com.team.meal.planner.repository.PersonRepository;
+import com.team.meal.planner.service.EmailService.MealLine;
+import com.team.meal.planner.service.NotificationOutbox.Message;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs on its own database with polling effectively off, so only the dispatch calls made here touch the
+ * outbox.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:outbox-test;DB_CLOSE_DELAY=-1",
+        "meal-planner.outbox.poll-interval=PT1H",
+        "meal-planner.outbox.coalesce-window=PT1M",
+        "meal-planner.outbox.max-attempts=3",
+        "meal-planner.outbox.initial-backoff=PT10S"
+})
+class NotificationOutboxDispatcherTest {
+
+    @Autowired
+    private NotificationOutboxDispatcher dispatcher;
+
+    @Autowired
+    private NotificationOutbox outbox;
+
+    @Autowired
+    private SignupService signupService;
+
+    @Autowired
+    private MealRepository mealRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private Meal meal;
+
+    @BeforeEach
+    void setUp() {
+        // The JCache regions are shared by every test context in the JVM, and the other contexts cache
+        // people with the same ids from their own database.
+        entityManagerFactory.getCache().evictAll();
+        jdbcTemplate.update("DELETE FROM notification_outbox");
+        meal = meal("Outbox Lunch", LocalDateTime.now().plusDays(10));
+    }
+
+    @Test
+    void committedSignup_isSentByTheDispatcherAndRemoved() {
+        signupService.createSignup(meal.getId(), person("ann@example.com").getId(), null);
+
+        assertThat(outboxRows()).hasSize(1);
+        // still inside the coalescing window
+        assertThat(dispatcher.dispatch(LocalDateTime.now())).isZero();
+        verifyNoInteractions(emailService);
+
+        assertThat(dispatcher.dispatch(LocalDateTime.now().plusMinutes(1))).isEqualTo(1);
+
+        verify(emailService).sendSignupConfirmation("ann@example.com", "Outbox Lunch");
+        assertThat(outboxRows()).isEmpty();
+    }
+
+    @Test
+    void rolledBackSignup_leavesNothingToSend() {
+        Long personId = person("bo@example.com").getId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            signupService.createSignup(meal.getId(), personId, null);
+            status.setRollbackOnly();
+        });
+
+        assertThat(outboxRows()).isEmpty();
+        assertThat(dispatcher.dispatch(LocalDateTime.now().plusMinutes(1))).isZero();
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    void confirmationsOfOneRecipient_goOutAsOneDigestInMealOrder() {
+        Person dee = person("dee@example.com");
+        Meal tuesday = meal("Tuesday Tacos", LocalDateTime.now().plusDays(12));
+        Meal monday = meal("Monday Curry", LocalDateTime.now().plusDays(11));
+        signupService.createSignup(meal.getId(), dee.getId(), null);
+        signupService.createSignup(tuesday.getId(), dee.getId(), null);
+        signupService.createSignup(monday.getId(), dee.getId(), null);
+        signupService.createSignup(meal.getId(), person("eli@example.com").getId(), null);
+
+        // the first confirmation is due; the later ones join it before their own window has passed
+        LocalDateTime firstDue = jdbcTemplate.queryForObject(
+                "SELECT min(next_attempt_at) FROM notification_outbox", LocalDateTime.class);
+        assertThat(dispatcher.dispatch(firstDue)).isEqualTo(3);
+        verify(emailService).sendSignupDigest("dee@example.com", List.of(
+                new MealLine("Outbox Lunch", meal.getDate()),
+                new MealLine("Monday Curry", monday.getDate()),
+                new MealLine("Tuesday Tacos", tuesday.getDate())));
+        verifyNoMoreInteractions(emailService);
+
+        assertThat(dispatcher.dispatch(LocalDateTime.now().plusMinutes(1))).isEqualTo(1);
+        verify(emailService).sendSignupConfirmation("eli@example.com", "Outbox Lunch");
+        assertThat(outboxRows()).isEmpty();
+    }
+
+    @Test
+    void failingSend_isRetriedWithBackoffThenDeadLettered() {
+        doThrow(new IllegalStateException("mail relay down")).when(emailService).sendSignupConfirmation(any(), any());
+        signupService.createSignup(meal.getId(), person("cy@example.com").getId(), null);
+        LocalDateTime now = LocalDateTime.now().plusMinutes(1).truncatedTo(ChronoUnit.MICROS);
+
+        assertThat(dispatcher.dispatch(now)).isEqualTo(1);
+        Map<String, Object> row = outboxRows().get(0);
+        assertThat(row.get("status")).isEqualTo(NotificationOutbox.PENDING);
+        assertThat(row.get("attempts")).isEqualTo(1);
+        assertThat(((Timestamp) row.get("next_attempt_at")).toLocalDateTime()).isEqualTo(now.plusSeconds(10));
+        assertThat(row.get("last_error")).isEqualTo("IllegalStateException: mail relay down");
+
+        // not due again before the backoff has passed
+        assertThat(dispatcher.dispatch(now.plusSeconds(9))).isZero();
+        assertThat(dispatcher.dispatch(now.plusSeconds(10))).isEqualTo(1);
+        assertThat(outboxRows().get(0).get("next_attempt_at"))
+                .isEqualTo(Timestamp.valueOf(now.plusSeconds(30)));
+
+        assertThat(dispatcher.dispatch(now.plusSeconds(30))).isEqualTo(1);
+        assertThat(outboxRows().get(0).get("status")).isEqualTo(NotificationOutbox.DEAD);
+        assertThat(dispatcher.dispatch(now.plusDays(1))).isZero();
+        verify(emailService, times(3)).sendSignupConfirmation("cy@example.com", "Outbox Lunch");
+    }
+
+    @Test
+    void claim_neverHandsOutMessagesHeldByAnotherDispatcher() throws Exception {
+        for (String email : List.of("d1@example.com", "d2@example.com", "d3@example.com")) {
+            signupService.createSignup(meal.getId(), person(email).getId(), null);
+        }
+        LocalDateTime now = LocalDateTime.now().plusMinutes(1);
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<List<Message>> first = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> {
+                    List<Message> batch = outbox.claim(2, now, now.plusMinutes(1));
+                    claimed.countDown();
+                    await(release);
+                    return batch;
+                }));
+        assertThat(claimed.await(10, TimeUnit.SECONDS)).isTrue();
+        // Returns without waiting for the first claim. PostgreSQL and MySQL hand out d3 here; H2 stops at
+        // the first locked row of the index range and returns nothing.
+        List<Message> concurrent = outbox.claim(10, now, now.plusMinutes(1));
+        release.countDown();
+
+        assertThat(first.get(10, TimeUnit.SECONDS)).extracting(Message::recipient)
+                .containsExactly("d1@example.com", "d2@example.com");
+        assertThat(concurrent).extracting(Message::recipient)
+                .doesNotContain("d1@example.com", "d2@example.com");
+        // the leased messages stay hidden after the first claim commits
+        assertThat(outbox.claim(10, now, now.plusMinutes(1))).extracting(Message::recipient)
+                .isEqualTo(concurrent.isEmpty() ? List.of("d3@example.com") : List.of());
+    }
+
+    private Meal meal(String title, LocalDateTime date) {
+        Meal meal = new Meal();
+        meal.setTitle(title);
+        meal.setDate(date.truncatedTo(ChronoUnit.MICROS));
+        meal.setMaxAttendees(10);
+        return mealRepository.save(meal);
+    }
+
+    private Person person(String email) {
+        Person person = new Person();
+        person.setName(email);
+        person.setEmail(email);
+        return personRepository.save(person);
+    }
+
+    private List<Map<String, Object>> outboxRows() {
+        return jdbcTemplate.queryForList("SELECT * FROM notification_outbox ORDER BY id");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
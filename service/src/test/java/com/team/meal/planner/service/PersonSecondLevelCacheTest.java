@@ -0,0 +1,86 @@
+package com.team.meal.planner.service;
+
+import com.team.meal.planner.entities.DietaryTag;
+import com.team.meal.planner.entities.Meal;
+import com.team.meal.planner.entities.Person;
+import com.team.meal.planner.repository.MealRepository;
+import com.team.meal.planner.repository.PersonRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * People and their dietary tags live in the second-level cache, so only the first signup of a person
+ * should read the persons tables.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.team.meal.planner.service.PersonSecondLevelCacheTest$RecordingInspector"
+})
+class PersonSecondLevelCacheTest {
+
+    private static final Pattern PERSON_TABLES = Pattern.compile("\\bpersons\\b|\\bperson_dietary_tags\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private SignupService signupService;
+
+    @Autowired
+    private AttendeeCountReconciler reconciler;
+
+    @Autowired
+    private MealRepository mealRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Test
+    void secondSignupOfAPerson_runsNoPersonSql() {
+        Person person = new Person();
+        person.setName("Cached Cleo");
+        person.setDietaryTags(Set.of(DietaryTag.VEGAN));
+        personRepository.save(person);
+        Meal first = meal(LocalDateTime.now().plusDays(20));
+        Meal second = meal(LocalDateTime.now().plusDays(21));
+
+        signupService.createSignup(first.getId(), person.getId(), null);
+        reconciler.reconcile();
+
+        RecordingInspector.SQL.clear();
+        signupService.createSignup(second.getId(), person.getId(), null);
+
+        assertThat(RecordingInspector.SQL).isNotEmpty();
+        assertThat(RecordingInspector.SQL).noneMatch(sql -> PERSON_TABLES.matcher(sql).find());
+    }
+
+    private Meal meal(LocalDateTime date) {
+        Meal meal = new Meal();
+        meal.setTitle("Vegan Buffet");
+        meal.setCuisine("Fusion");
+        meal.setDate(date);
+        meal.setMaxAttendees(10);
+        meal.setTags(Set.of("VEGAN_FRIENDLY"));
+        return mealRepository.save(meal);
+    }
+
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+}
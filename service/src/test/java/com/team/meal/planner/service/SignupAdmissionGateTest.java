@@ -0,0 +1,159 @@
+package com.team.meal.planner.service;
+
+import com.team.meal.planner.entities.DietaryTag;
+import com.team.meal.planner.entities.Meal;
+import com.team.meal.planner.entities.Person;
+import com.team.meal.planner.exception.BadRequestException;
+import com.team.meal.planner.exception.ConflictException;
+import com.team.meal.planner.repository.MealRepository;
+import com.team.meal.planner.repository.PersonRepository;
+import com.team.meal.planner.service.SignupAdmissionGate.Verdict;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:admission-gate-test;DB_CLOSE_DELAY=-1",
+        "meal-planner.outbox.poll-interval=PT1H"
+})
+class SignupAdmissionGateTest {
+
+    @Autowired
+    private SignupAdmissionGate gate;
+
+    @Autowired
+    private SignupService signupService;
+
+    @Autowired
+    private MealRepository mealRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        // see NotificationOutboxDispatcherTest: other contexts cache people of their own database
+        entityManagerFactory.getCache().evictAll();
+        gate.forgetAll();
+    }
+
+    @Test
+    void fullMeal_isRememberedUntilASeatIsReleased() {
+        Meal meal = meal(LocalDateTime.now().plusDays(3), 1);
+        Long seated = person();
+        Long late = person();
+        Long seatId = signupService.createSignup(meal.getId(), seated, null).getSignup().getId();
+        assertThat(gate.check(meal.getId(), late, false)).isEqualTo(Verdict.OPEN);
+
+        assertThatThrownBy(() -> signupService.createSignup(meal.getId(), late, null))
+                .isInstanceOf(ConflictException.class).hasMessage("Meal is full");
+
+        assertThat(gate.check(meal.getId(), late, false)).isEqualTo(Verdict.FULL);
+        long hits = gate.stats().hitCount();
+        assertThatThrownBy(() -> signupService.createSignup(meal.getId(), late, null))
+                .isInstanceOf(ConflictException.class).hasMessage("Meal is full");
+        assertThat(gate.stats().hitCount()).isEqualTo(hits + 1);
+        // a repeated request of someone with a seat still gets the seat back
+        assertThat(gate.check(meal.getId(), seated, false)).isEqualTo(Verdict.OPEN);
+        assertThat(signupService.createSignup(meal.getId(), seated, null).isCreated()).isFalse();
+        // a full meal with a waitlist still takes signups
+        assertThat(gate.check(meal.getId(), late, true)).isEqualTo(Verdict.OPEN);
+
+        signupService.cancelSignup(seatId);
+
+        assertThat(gate.check(meal.getId(), late, false)).isEqualTo(Verdict.OPEN);
+        assertThat(signupService.createSignup(meal.getId(), late, null).isCreated()).isTrue();
+    }
+
+    @Test
+    void rolledBackChange_keepsTheMealClosed() {
+        Meal meal = meal(LocalDateTime.now().plusDays(4), 1);
+        Long seatId = signupService.createSignup(meal.getId(), person(), null).getSignup().getId();
+        Long late = person();
+        assertThatThrownBy(() -> signupService.createSignup(meal.getId(), late, null))
+                .isInstanceOf(ConflictException.class);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            signupService.cancelSignup(seatId);
+            status.setRollbackOnly();
+        });
+
+        assertThat(gate.check(meal.getId(), late, false)).isEqualTo(Verdict.FULL);
+    }
+
+    @Test
+    void pastMeal_isRejectedAndRemembered() {
+        Meal meal = meal(LocalDateTime.now().minusHours(2), 10);
+        Long person = person();
+
+        assertThatThrownBy(() -> signupService.createSignup(meal.getId(), person, null))
+                .isInstanceOf(ConflictException.class).hasMessage("Meal has already taken place");
+
+        assertThat(gate.check(meal.getId(), person, true)).isEqualTo(Verdict.PAST);
+    }
+
+    @Test
+    void rememberedMeal_stillReportsAMissingOrUnsuitedPersonFirst() {
+        Meal meal = meal(LocalDateTime.now().plusDays(5), 1);
+        meal.setTags(Set.of("VEGETARIAN"));
+        meal = mealRepository.save(meal);
+        Long mealId = meal.getId();
+        signupService.createSignup(mealId, person(), null);
+        Long late = person();
+        assertThatThrownBy(() -> signupService.createSignup(mealId, late, null))
+                .isInstanceOf(ConflictException.class).hasMessage("Meal is full");
+        Person vegan = new Person();
+        vegan.setName("Vegan Guest");
+        vegan.setDietaryTags(Set.of(DietaryTag.VEGAN));
+        Long veganId = personRepository.save(vegan).getId();
+
+        assertThat(gate.check(mealId, late, false)).isEqualTo(Verdict.FULL);
+        assertThat(gate.check(mealId, Long.MAX_VALUE, false)).isEqualTo(Verdict.OPEN);
+        assertThatThrownBy(() -> signupService.createSignup(mealId, Long.MAX_VALUE, null))
+                .isInstanceOf(BadRequestException.class).hasMessage("Person not found");
+        assertThat(gate.check(mealId, veganId, false)).isEqualTo(Verdict.OPEN);
+        assertThatThrownBy(() -> signupService.createSignup(mealId, veganId, null))
+                .isInstanceOf(ConflictException.class).hasMessage("Meal does not satisfy dietary requirements");
+    }
+
+    @Test
+    void rememberedPastMeal_stillReportsAMissingPersonFirst() {
+        Meal meal = meal(LocalDateTime.now().minusHours(3), 10);
+        assertThatThrownBy(() -> signupService.createSignup(meal.getId(), person(), null))
+                .isInstanceOf(ConflictException.class).hasMessage("Meal has already taken place");
+
+        assertThat(gate.check(meal.getId(), Long.MAX_VALUE, false)).isEqualTo(Verdict.OPEN);
+        assertThatThrownBy(() -> signupService.createSignup(meal.getId(), Long.MAX_VALUE, null))
+                .isInstanceOf(BadRequestException.class).hasMessage("Person not found");
+    }
+
+    private Meal meal(LocalDateTime date, int maxAttendees) {
+        Meal meal = new Meal();
+        meal.setTitle("Gate Lunch");
+        meal.setDate(date);
+        meal.setMaxAttendees(maxAttendees);
+        return mealRepository.save(meal);
+    }
+
+    private Long person() {
+        Person person = new Person();
+        person.setName("Gate Guest");
+        return personRepository.save(person).getId();
+    }
+}
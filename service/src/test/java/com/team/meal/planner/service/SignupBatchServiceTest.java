@@ -0,0 +1,133 @@
+package com.team.meal.planner.service;
+
+import com.team.meal.planner.dto.SignupBatchItemResult;
+import com.team.meal.planner.dto.SignupBatchItemResult.Status;
+import com.team.meal.planner.dto.SignupBatchResponse;
+import com.team.meal.planner.dto.SignupCreate;
+import com.team.meal.planner.entities.Meal;
+import com.team.meal.planner.entities.Person;
+import com.team.meal.planner.repository.MealRepository;
+import com.team.meal.planner.repository.PersonRepository;
+import com.team.meal.planner.repository.SignupRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({SignupBatchService.class, NotificationOutbox.class})
+class SignupBatchServiceTest {
+
+    @Autowired
+    private SignupBatchService signupBatchService;
+
+    @Autowired
+    private MealRepository mealRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private SignupRepository signupRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void partialBatch_appliesValidItemsAndReportsTheRest() {
+        Meal meal = meal("Team Lunch", LocalDateTime.now().plusDays(1), 2);
+        Person alice = person("Alice");
+        Person bob = person("Bob");
+        Person carol = person("Carol");
+
+        SignupBatchResponse response = signupBatchService.createSignups(List.of(
+                item(meal, alice), item(meal, bob), item(meal, alice), item(meal, carol), item(meal.getId(), 999L)
+        ), false);
+
+        assertThat(response.isApplied()).isTrue();
+        assertThat(response.isAllOrNothing()).isFalse();
+        assertThat(response.getItems()).extracting(SignupBatchItemResult::getStatus)
+                .containsExactly(Status.CREATED, Status.CREATED, Status.EXISTING, Status.REJECTED, Status.REJECTED);
+        assertThat(response.getItems().get(2).getSignupId()).isEqualTo(response.getItems().get(0).getSignupId());
+        assertThat(response.getItems().get(3).getReason()).isEqualTo("Meal is full");
+        assertThat(response.getItems().get(4).getReason()).isEqualTo("Person not found");
+
+        entityManager.clear();
+        assertThat(mealRepository.findById(meal.getId()).orElseThrow().getAttendeeCount()).isEqualTo(2);
+        assertThat(signupRepository.findById(response.getItems().get(0).getSignupId())).isPresent();
+        assertThat(jdbcTemplate.queryForList("SELECT signup_id FROM notification_outbox ORDER BY id", Long.class))
+                .containsExactly(response.getItems().get(0).getSignupId(), response.getItems().get(1).getSignupId());
+    }
+
+    @Test
+    void allOrNothingBatch_writesNothingWhenAnItemIsRejected() {
+        LocalDateTime day = LocalDateTime.now().plusDays(2).withHour(12);
+        Meal lunch = meal("Lunch", day, 10);
+        Meal dinner = meal("Dinner", day.withHour(19), 10);
+        Person dana = person("Dana");
+
+        SignupBatchResponse response = signupBatchService.createSignups(List.of(
+                item(lunch, dana), item(dinner, dana)
+        ), true);
+
+        assertThat(response.isApplied()).isFalse();
+        assertThat(response.getItems()).extracting(SignupBatchItemResult::getStatus)
+                .containsExactly(Status.SKIPPED, Status.REJECTED);
+        assertThat(response.getItems().get(1).getReason())
+                .isEqualTo("Person already signed up for another meal on this day");
+        assertThat(signupRepository.count()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM notification_outbox", Long.class)).isZero();
+    }
+
+    @Test
+    void existingSignup_isReportedNotDuplicated() {
+        Meal meal = meal("Brunch", LocalDateTime.now().plusDays(3), 5);
+        Person erin = person("Erin");
+        Long firstId = signupBatchService.createSignups(List.of(item(meal, erin)), false)
+                .getItems().get(0).getSignupId();
+
+        SignupBatchResponse again = signupBatchService.createSignups(List.of(item(meal, erin)), true);
+
+        assertThat(again.isApplied()).isTrue();
+        assertThat(again.getItems().get(0).getStatus()).isEqualTo(Status.EXISTING);
+        assertThat(again.getItems().get(0).getSignupId()).isEqualTo(firstId);
+        assertThat(signupRepository.count()).isEqualTo(1);
+    }
+
+    private Meal meal(String title, LocalDateTime date, int maxAttendees) {
+        Meal meal = new Meal();
+        meal.setTitle(title);
+        meal.setDate(date);
+        meal.setMaxAttendees(maxAttendees);
+        return mealRepository.saveAndFlush(meal);
+    }
+
+    private Person person(String name) {
+        Person person = new Person();
+        person.setName(name);
+        person.setEmail(name.toLowerCase(Locale.ROOT) + "@example.com");
+        return personRepository.saveAndFlush(person);
+    }
+
+    private static SignupCreate item(Meal meal, Person person) {
+        return item(meal.getId(), person.getId());
+    }
+
+    private static SignupCreate item(Long mealId, Long personId) {
+        SignupCreate item = new SignupCreate();
+        item.setMealId(mealId);
+        item.setPersonId(personId);
+        return item;
+    }
+}
@@ -9,9 +9,17 @@ import com.team.meal.planner.exception.ConflictException;
 import com.team.meal.planner.repository.MealRepository;
 import com.team.meal.planner.repository.PersonRepository;
 import com.team.meal.planner.repository.SignupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -27,7 +35,9 @@ class SignupBusinessRulesTest {
     MealRepository mealRepository;
     PersonRepository personRepository;
     SignupRepository signupRepository;
-    EmailService emailService;
+    NotificationOutbox outbox;
+    WaitlistService waitlist;
+    ApplicationEventPublisher events;
     SignupService signupService;
 
     @BeforeEach
@@ -35,8 +45,13 @@ class SignupBusinessRulesTest {
         mealRepository = mock(MealRepository.class);
         personRepository = mock(PersonRepository.class);
         signupRepository = mock(SignupRepository.class);
-        emailService = mock(EmailService.class);
-        signupService = new SignupService(signupRepository, mealRepository, personRepository, emailService);
+        outbox = mock(NotificationOutbox.class);
+        waitlist = mock(WaitlistService.class);
+        events = mock(ApplicationEventPublisher.class);
+        signupService = new SignupService(signupRepository, mealRepository, personRepository, outbox, waitlist,
+                new SignupAdmissionGate(mealRepository, signupRepository, personRepository, false, 1, Duration.ZERO),
+                events, new SimpleMeterRegistry(), new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                SignupMode.LOCKING, 3);
     }
 
     @Test
@@ -49,12 +64,13 @@ class SignupBusinessRulesTest {
         when(mealRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(meal));
         when(personRepository.findById(2L)).thenReturn(Optional.of(person));
         when(signupRepository.findByMealIdAndPersonId(1L, 2L)).thenReturn(Optional.empty());
-        when(signupRepository.existsByPersonIdAndMealDateRange(eq(2L), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(true);
+        when(mealRepository.incrementAttendeeCount(1L)).thenReturn(1);
+        when(signupRepository.save(any(Signup.class))).thenThrow(new DataIntegrityViolationException("insert failed",
+                new ConstraintViolationException("duplicate day", new SQLException(), Signup.PERSON_DAY_CONSTRAINT)));
 
-        assertThrows(ConflictException.class, () -> signupService.createSignup(1L, 2L, "note"));
-        verify(signupRepository, never()).save(any());
-        verifyNoInteractions(emailService);
+        ConflictException ex = assertThrows(ConflictException.class, () -> signupService.createSignup(1L, 2L, "note"));
+        assertEquals("Person already signed up for another meal on this day", ex.getMessage());
+        verifyNoInteractions(outbox);
     }
 
     @Test
@@ -69,13 +85,11 @@ class SignupBusinessRulesTest {
         when(mealRepository.findByIdForUpdate(3L)).thenReturn(Optional.of(meal));
         when(personRepository.findById(4L)).thenReturn(Optional.of(person));
         when(signupRepository.findByMealIdAndPersonId(3L, 4L)).thenReturn(Optional.empty());
-        when(signupRepository.existsByPersonIdAndMealDateRange(eq(4L), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(false);
-        when(signupRepository.countByMealId(3L)).thenReturn(0L);
+        when(mealRepository.incrementAttendeeCount(3L)).thenReturn(1);
 
         assertThrows(ConflictException.class, () -> signupService.createSignup(3L, 4L, "note"));
         verify(signupRepository, never()).save(any());
-        verifyNoInteractions(emailService);
+        verifyNoInteractions(outbox);
     }
 
     @Test
@@ -89,13 +103,11 @@ class SignupBusinessRulesTest {
         when(mealRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(meal));
         when(personRepository.findById(6L)).thenReturn(Optional.of(person));
         when(signupRepository.findByMealIdAndPersonId(5L, 6L)).thenReturn(Optional.empty());
-        when(signupRepository.existsByPersonIdAndMealDateRange(eq(6L), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(false);
-        when(signupRepository.countByMealId(5L)).thenReturn(1L);
+        when(mealRepository.incrementAttendeeCount(5L)).thenReturn(0);
 
         assertThrows(ConflictException.class, () -> signupService.createSignup(5L, 6L, "note"));
         verify(signupRepository, never()).save(any());
-        verifyNoInteractions(emailService);
+        verifyNoInteractions(outbox);
     }
 
     @Test
@@ -118,7 +130,7 @@ class SignupBusinessRulesTest {
         assertFalse(res.isCreated());
         assertEquals(existing, res.getSignup());
         verify(signupRepository, never()).save(any());
-        verifyNoInteractions(emailService);
+        verifyNoInteractions(outbox);
     }
 
     @Test
@@ -136,9 +148,7 @@ class SignupBusinessRulesTest {
         when(mealRepository.findByIdForUpdate(9L)).thenReturn(Optional.of(meal));
         when(personRepository.findById(10L)).thenReturn(Optional.of(person));
         when(signupRepository.findByMealIdAndPersonId(9L, 10L)).thenReturn(Optional.empty());
-        when(signupRepository.existsByPersonIdAndMealDateRange(eq(10L), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(false);
-        when(signupRepository.countByMealId(9L)).thenReturn(1L);
+        when(mealRepository.incrementAttendeeCount(9L)).thenReturn(1);
 
         when(signupRepository.save(any(Signup.class))).thenAnswer(i -> i.getArgument(0));
 
@@ -149,6 +159,6 @@ class SignupBusinessRulesTest {
         assertSame(meal, result.getSignup().getMeal());
         assertSame(person, result.getSignup().getPerson());
         verify(signupRepository, times(1)).save(any(Signup.class));
-        verify(emailService, times(1)).sendSignupConfirmation("vegan@example.com", "Vegan Delight");
+        verify(outbox, times(1)).enqueueSignupConfirmation(result.getSignup().getId(), meal, person);
     }
 }
@@ -0,0 +1,222 @@
+package com.team.meal.planner.service;
+
+import com.team.meal.planner.dto.MealUpdate;
+import com.team.meal.planner.entities.Meal;
+import com.team.meal.planner.entities.Person;
+import com.team.meal.planner.exception.ConflictException;
+import com.team.meal.planner.repository.MealRepository;
+import com.team.meal.planner.repository.PersonRepository;
+import com.team.meal.planner.repository.SignupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class SignupConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SignupConcurrencyTest.class);
+
+    private static final int CONCURRENT_SIGNUPS = 240;
+    private static final int CAPACITY = 200;
+    private static final int ROUNDS = 3;
+    private static final double THROUGHPUT_TOLERANCE = 0.1;
+
+    @Autowired
+    private MealRepository mealRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private SignupRepository signupRepository;
+
+    @Autowired
+    private NotificationOutbox outbox;
+
+    @Autowired
+    private WaitlistService waitlist;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MealService mealService;
+
+    /**
+     * Lock-free admission needs no row lock, so with {@value #CONCURRENT_SIGNUPS} requests on one meal it
+     * should get through them faster than the locking mode. Both modes run {@value #ROUNDS} interleaved
+     * bursts, and their best throughput is compared. The lock-free result may fall up to 10%
+     * ({@link #THROUGHPUT_TOLERANCE}) below the locking result, so that the noise of a shared runner does
+     * not fail the build. A real regression, such as lock-free retrying its way through every seat, falls
+     * further behind than that.
+     */
+    @Test
+    void lockFreeAdmission_fillsTheMealAndKeepsUpWithRowLockThroughput() throws Exception {
+        double lockingBest = 0;
+        double lockFreeBest = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            lockingBest = Math.max(lockingBest, runBurst(SignupMode.LOCKING));
+            lockFreeBest = Math.max(lockFreeBest, runBurst(SignupMode.LOCK_FREE));
+        }
+        log.info("Signups/sec on one meal with {} concurrent requests: locking={}, lock-free={}",
+                CONCURRENT_SIGNUPS, Math.round(lockingBest), Math.round(lockFreeBest));
+
+        assertThat(lockFreeBest).isGreaterThanOrEqualTo(lockingBest * (1 - THROUGHPUT_TOLERANCE));
+    }
+
+    /**
+     * A meal moved to another day while people sign up for it: every signup that commits must end up on
+     * the day the meal ends up on, whichever of the two committed first.
+     */
+    @Test
+    void dateMoveDuringSignups_leavesNoSignupOnTheOldDay() throws Exception {
+        for (SignupMode mode : SignupMode.values()) {
+            SignupService service = new SignupService(signupRepository, mealRepository, personRepository, outbox,
+                    waitlist, new SignupAdmissionGate(mealRepository, signupRepository, personRepository, false, 1,
+                            Duration.ZERO),
+                    events, new SimpleMeterRegistry(), transactionTemplate, mode, 5);
+            for (int round = 0; round < 10; round++) {
+                LocalDateTime date = LocalDateTime.now().plusDays(20 + round).withHour(12);
+                Meal meal = new Meal();
+                meal.setTitle("Moving " + mode + " " + round);
+                meal.setDate(date);
+                meal.setMaxAttendees(50);
+                Long mealId = mealRepository.save(meal).getId();
+                List<Long> personIds = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    Person person = new Person();
+                    person.setName("Mover " + mode + " " + round + "-" + i);
+                    personIds.add(personRepository.save(person).getId());
+                }
+
+                CountDownLatch start = new CountDownLatch(1);
+                ExecutorService pool = Executors.newFixedThreadPool(personIds.size() + 1);
+                try {
+                    List<Future<?>> futures = new ArrayList<>();
+                    for (Long personId : personIds) {
+                        futures.add(pool.submit(() -> {
+                            start.await();
+                            try {
+                                service.createSignup(mealId, personId, null);
+                            } catch (ConflictException ex) {
+                                // LOCK_FREE may run out of attempts while the meal moves under it
+                                if (!ex.getMessage().startsWith("Signup conflicted with concurrent requests")) {
+                                    throw ex;
+                                }
+                            }
+                            return null;
+                        }));
+                    }
+                    MealUpdate move = new MealUpdate();
+                    move.setDate(date.plusDays(40));
+                    futures.add(pool.submit(() -> {
+                        start.await();
+                        return mealService.updateMeal(mealId, move);
+                    }));
+                    start.countDown();
+                    for (Future<?> future : futures) {
+                        future.get(60, TimeUnit.SECONDS);
+                    }
+                } finally {
+                    pool.shutdownNow();
+                }
+
+                LocalDate newDay = date.plusDays(40).toLocalDate();
+                assertThat(signupRepository.findAll().stream().filter(s -> s.getMeal().getId().equals(mealId)))
+                        .as("%s round %d", mode, round)
+                        .isNotEmpty()
+                        .allSatisfy(s -> assertThat(s.getMealDay()).isEqualTo(newDay));
+            }
+        }
+    }
+
+    private double runBurst(SignupMode mode) throws Exception {
+        SignupService service = new SignupService(signupRepository, mealRepository, personRepository, outbox, waitlist,
+                // off, so rejections past capacity cost the same full check in both modes
+                new SignupAdmissionGate(mealRepository, signupRepository, personRepository, false, 1, Duration.ZERO),
+                events, new SimpleMeterRegistry(), transactionTemplate, mode, 5);
+
+        Meal meal = new Meal();
+        meal.setTitle("Hot " + mode);
+        meal.setDate(LocalDateTime.now().plusDays(1));
+        meal.setMaxAttendees(CAPACITY);
+        Long mealId = mealRepository.save(meal).getId();
+
+        List<Long> personIds = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_SIGNUPS; i++) {
+            Person person = new Person();
+            person.setName(mode + "-" + i);
+            personIds.add(personRepository.save(person).getId());
+        }
+
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger full = new AtomicInteger();
+        AtomicInteger contended = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(CONCURRENT_SIGNUPS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Long personId : personIds) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        if (service.createSignup(mealId, personId, null).isCreated()) {
+                            created.incrementAndGet();
+                        }
+                    } catch (ConflictException ex) {
+                        if ("Meal is full".equals(ex.getMessage())) {
+                            full.incrementAndGet();
+                        } else if (ex.getMessage().startsWith("Signup conflicted with concurrent requests")) {
+                            // LOCK_FREE gave up after max-attempts; counted so the assertion below names it
+                            contended.incrementAndGet();
+                        } else {
+                            throw ex;
+                        }
+                    }
+                    return null;
+                }));
+            }
+            long began = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            double seconds = (System.nanoTime() - began) / 1_000_000_000.0;
+
+            log.info("{}: created={}, full={}, contended={}", mode, created, full, contended);
+
+            // a request told to retry while seats were still free is a regression against the locking mode
+            assertThat(contended.get()).as("%s requests given up on", mode).isZero();
+            assertThat(created.get()).isEqualTo(CAPACITY);
+            assertThat(full.get()).isEqualTo(CONCURRENT_SIGNUPS - CAPACITY);
+            assertThat(mealRepository.findById(mealId).orElseThrow().getAttendeeCount()).isEqualTo(CAPACITY);
+            assertThat(signupRepository.findAll().stream().filter(s -> s.getMeal().getId().equals(mealId)))
+                    .hasSize(CAPACITY);
+            return CONCURRENT_SIGNUPS / seconds;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.team.meal.planner.service;
+
+import com.team.meal.planner.dto.SignupResult;
+import com.team.meal.planner.dto.WaitlistResponse;
+import com.team.meal.planner.entities.DietaryTag;
+import com.team.meal.planner.entities.Meal;
+import com.team.meal.planner.entities.Person;
+import com.team.meal.planner.entities.Signup;
+import com.team.meal.planner.exception.ConflictException;
+import com.team.meal.planner.repository.MealRepository;
+import com.team.meal.planner.repository.PersonRepository;
+import com.team.meal.planner.repository.SignupRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SignupServiceTest {
+
+    MealRepository mealRepository;
+    PersonRepository personRepository;
+    SignupRepository signupRepository;
+    NotificationOutbox outbox;
+    WaitlistService waitlist;
+    SignupAdmissionGate gate;
+    ApplicationEventPublisher events;
+    SimpleMeterRegistry meterRegistry;
+    SignupService signupService;
+
+    @BeforeEach
+    void setUp() {
+        mealRepository = mock(MealRepository.class);
+        personRepository = mock(PersonRepository.class);
+        signupRepository = mock(SignupRepository.class);
+        outbox = mock(NotificationOutbox.class);
+        waitlist = mock(WaitlistService.class);
+        gate = mock(SignupAdmissionGate.class);
+        when(gate.check(any(), any(), anyBoolean())).thenReturn(SignupAdmissionGate.Verdict.OPEN);
+        events = mock(ApplicationEventPublisher.class);
+        meterRegistry = new SimpleMeterRegistry();
+        signupService = new SignupService(signupRepository, mealRepository, personRepository, outbox, waitlist,
+                gate, events, meterRegistry, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                SignupMode.LOCKING, 3);
+    }
+
+    @Test
+    void createSignup_idempotent_existingSignupReturned() {
+        Meal meal = new Meal();
+        meal.setDate(LocalDateTime.now().plusDays(1));
+        meal.setMaxAttendees(5);
+        meal.setTitle("T1");
+        meal.setCuisine("Indian");
+
+        Person person = new Person();
+        person.setName("Alice");
+
+        Signup existing = new Signup();
+        existing.setMeal(meal);
+        existing.setPerson(person);
+
+        when(mealRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(meal));
+        when(personRepository.findById(2L)).thenReturn(Optional.of(person));
+        when(signupRepository.findByMealIdAndPersonId(1L, 2L)).thenReturn(Optional.of(existing));
+
+        SignupResult res = signupService.createSignup(1L, 2L, "note");
+
+        assertFalse(res.isCreated());
+        assertEquals(existing, res.getSignup());
+        verify(signupRepository, never()).save(any());
+        verifyNoInteractions(outbox);
+        assertEquals(1, signupCount("idempotent"));
+        assertEquals(1, meterRegistry.get(SignupService.LOCK_WAIT_TIMER).timer().count());
+    }
+
+    @Test
+    void createSignup_conflict_alreadySignedSameDay() {
+        Meal meal = new Meal();
+        meal.setDate(LocalDateTime.now().plusDays(2));
+
+        Person person = new Person();
+        person.setName("Bob");
+
+        when(mealRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(meal));
+        when(personRepository.findById(20L)).thenReturn(Optional.of(person));
+        when(signupRepository.findByMealIdAndPersonId(10L, 20L)).thenReturn(Optional.empty());
+        when(mealRepository.incrementAttendeeCount(10L)).thenReturn(1);
+        when(signupRepository.save(any(Signup.class))).thenThrow(new DataIntegrityViolationException("insert failed",
+                new ConstraintViolationException("duplicate day", new SQLException(), Signup.PERSON_DAY_CONSTRAINT)));
+
+        assertThrows(ConflictException.class, () -> signupService.createSignup(10L, 20L, "n"));
+        verifyNoInteractions(outbox);
+        assertEquals(1, signupCount("day-conflict"));
+    }
+
+    @Test
+    void createSignup_conflict_mealFull() {
+        Meal meal = new Meal();
+        meal.setDate(LocalDateTime.now().plusDays(3));
+        meal.setMaxAttendees(2);
+
+        Person person = new Person();
+        person.setName("Carol");
+
+        when(mealRepository.findByIdForUpdate(11L)).thenReturn(Optional.of(meal));
+        when(personRepository.findById(21L)).thenReturn(Optional.of(person));
+        when(signupRepository.findByMealIdAndPersonId(11L, 21L)).thenReturn(Optional.empty());
+        when(mealRepository.incrementAttendeeCount(11L)).thenReturn(0);
+
+        assertThrows(ConflictException.class, () -> signupService.createSignup(11L, 21L, "n"));
+        verify(signupRepository, never()).save(any());
+        verifyNoInteractions(outbox);
+        assertEquals(1, signupCount("full"));
+        verify(gate).remember(11L);
+    }
+
+    @Test
+    void createSignup_knownFullMeal_rejectedBeforeAnyQuery() {
+        when(gate.check(11L, 21L, false)).thenReturn(SignupAdmissionGate.Verdict.FULL);
+
+        ConflictException ex = assertThrows(ConflictException.class, () -> signupService.createSignup(11L, 21L, "n"));
+
+        assertEquals("Meal is full", ex.getMessage());
+        verifyNoInteractions(mealRepository, personRepository, signupRepository, outbox, events);
+        verify(gate, never()).remember(any());
+        assertEquals(1, signupCount("full"));
+    }
+
+    @Test
+    void createSignup_conflict_mealInThePast() {
+        Meal meal = new Meal();
+        meal.setDate(LocalDateTime.now().minusHours(1));
+
+        when(mealRepository.findByIdForUpdate(17L)).thenReturn(Optional.of(meal));
+        when(personRepository.findById(27L)).thenReturn(Optional.of(new Person()));
+        when(signupRepository.findByMealIdAndPersonId(17L, 27L)).thenReturn(Optional.empty());
+
+        ConflictException ex = assertThrows(ConflictException.class, () -> signupService.createSignup(17L, 27L, "n"));
+
+        assertEquals("Meal has already taken place", ex.getMessage());
+        verify(mealRepository, never()).incrementAttendeeCount(any());
+        assertEquals(1, signupCount("past"));
+        verify(gate).remember(17L);
+    }
+
+    @Test
+    void createSignup_conflict_dietaryMismatch() {
+        Meal meal = new Meal();
+        meal.setDate(LocalDateTime.now().plusDays(4));
+        meal.setTags(new HashSet<>(List.of("VEGETARIAN_FRIENDLY")));
+
+        Person person = new Person();
+        person.setName("Dan");
+        person.setDietaryTags(new HashSet<>(List.of(DietaryTag.VEGAN)));
+
+        when(mealRepository.findByIdForUpdate(12L)).thenReturn(Optional.of(meal));
+        when(personRepository.findById(22L)).thenReturn(Optional.of(person));
+        when(signupRepository.findByMealIdAndPersonId(12L, 22L)).thenReturn(Optional.empty());
+        when(mealRepository.incrementAttendeeCount(12L)).thenReturn(1);
+
+        assertThrows(ConflictException.class, () -> signupService.createSignup(12L, 22L, "n"));
+        verify(signupRepository, never()).save(any());
+        verifyNoInteractions(outbox);
+        assertEquals(1, signupCount("dietary"));
+    }
+
+    @Test
+    void createSignup_successful() {
+        Meal meal = new Meal();
+        meal.setDate(LocalDateTime.now().plusDays(5));
+        meal.setMaxAttendees(10);
+        meal.setTags(new HashSet<>(List.of("VEGAN_FRIENDLY")));
+        meal.setTitle("Vegan Feast");
+
+        Person person = new Person();
+        person.setName("Eve");
+        person.setDietaryTags(new HashSet<>(List.of(DietaryTag.VEGAN)));
+        person.setEmail("eve@example.com");
+
+        when(mealRepository.findByIdForUpdate(13L)).thenReturn(Optional.of(meal));
+        when(personRepository.findById(23L)).thenReturn(Optional.of(person));
+        when(signupRepository.findByMealIdAndPersonId(13L, 23L)).thenReturn(Optional.empty());
+        when(mealRepository.incrementAttendeeCount(13L)).thenReturn(1);
+
+        ArgumentCaptor<Signup> captor = ArgumentCaptor.forClass(Signup.class);
+        when(signupRepository.save(captor.capture())).thenAnswer(i -> i.getArgument(0));
+
+        SignupResult res = signupService.createSignup(13L, 23L, "note");
+
+        assertTrue(res.isCreated());
+        Signup saved = res.getSignup();
+        assertNotNull(saved);
+        assertSame(person, saved.getPerson());
+        assertSame(meal, saved.getMeal());
+        verify(signupRepository, times(1)).save(any(Signup.class));
+        verify(outbox, times(1)).enqueueSignupConfirmation(saved.getId(), meal, person);
+        verify(events).publishEvent(new MealChangedEvent(13L));
+        assertEquals(1, signupCount("created"));
+    }
+
+    @Test
+    void cancelSignup_deletesAndReleasesSeat() {
+        Meal meal = mock(Meal.class);
+        when(meal.getId()).thenReturn(14L);
+
+        Signup signup = new Signup();
+        signup.setMeal(meal);
+
+        when(signupRepository.findById(30L)).thenReturn(Optional.of(signup));
+
+        signupService.cancelSignup(30L);
+
+        verify(signupRepository).delete(signup);
+        verify(mealRepository).decrementAttendeeCount(14L);
+        verify(waitlist).promote(14L);
+        verify(events).publishEvent(new MealChangedEvent(14L));
+    }
+
+    @Test
+    void createSignup_fullMealWithWaitlist_queuesInsteadOfRejecting() {
+        Meal meal = new Meal();
+        meal.setDate(LocalDateTime.now().plusDays(4));
+        meal.setMaxAttendees(1);
+
+        Person person = new Person();
+        person.setName("Gil");
+
+        WaitlistResponse queued = mock(WaitlistResponse.class);
+        when(mealRepository.findByIdForUpdate(16L)).thenReturn(Optional.of(meal));
+        when(personRepository.findById(26L)).thenReturn(Optional.of(person));
+        when(signupRepository.findByMealIdAndPersonId(16L, 26L)).thenReturn(Optional.empty());
+        when(mealRepository.incrementAttendeeCount(16L)).thenReturn(0);
+        when(waitlist.isEnabled()).thenReturn(true);
+        when(waitlist.join(meal, person, "n")).thenReturn(queued);
+
+        SignupResult res = signupService.createSignup(16L, 26L, "n");
+
+        assertTrue(res.isWaitlisted());
+        assertSame(queued, res.getWaitlisted());
+        verify(signupRepository, never()).save(any());
+        verifyNoInteractions(outbox, events);
+        assertEquals(1, signupCount("waitlisted"));
+    }
+
+    @Test
+    void createSignup_lockFree_retriesAfterConcurrentDuplicate() {
+        SignupService lockFree = new SignupService(signupRepository, mealRepository, personRepository, outbox, waitlist,
+                gate, events, meterRegistry, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                SignupMode.LOCK_FREE, 3);
+
+        Meal meal = new Meal();
+        meal.setDate(LocalDateTime.now().plusDays(6));
+        meal.setMaxAttendees(10);
+
+        Person person = new Person();
+        person.setName("Frank");
+
+        Signup winner = new Signup();
+        winner.setMeal(meal);
+        winner.setPerson(person);
+
+        when(mealRepository.findById(15L)).thenReturn(Optional.of(meal));
+        when(personRepository.findById(25L)).thenReturn(Optional.of(person));
+        when(signupRepository.findByMealIdAndPersonId(15L, 25L))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(winner));
+        when(signupRepository.save(any(Signup.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        SignupResult res = lockFree.createSignup(15L, 25L, "n");
+
+        assertFalse(res.isCreated());
+        assertSame(winner, res.getSignup());
+        verify(mealRepository, never()).findByIdForUpdate(any());
+        verify(mealRepository, never()).incrementAttendeeCount(any());
+        verifyNoInteractions(outbox);
+    }
+
+    @Test
+    void createSignup_lockFree_givesUpAfterMaxAttempts() {
+        SignupService lockFree = new SignupService(signupRepository, mealRepository, personRepository, outbox, waitlist,
+                gate, events, meterRegistry, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                SignupMode.LOCK_FREE, 2);
+
+        Meal meal = new Meal();
+        meal.setDate(LocalDateTime.now().plusDays(7));
+
+        when(mealRepository.findById(16L)).thenReturn(Optional.of(meal));
+        when(personRepository.findById(26L)).thenReturn(Optional.of(new Person()));
+        when(signupRepository.findByMealIdAndPersonId(16L, 26L)).thenReturn(Optional.empty());
+        when(signupRepository.save(any(Signup.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        assertThrows(ConflictException.class, () -> lockFree.createSignup(16L, 26L, "n"));
+        verify(signupRepository, times(2)).save(any(Signup.class));
+        assertEquals(1, signupCount("contended"));
+        assertEquals(1, meterRegistry.get(SignupService.RETRY_COUNTER).counter().count());
+    }
+
+    private long signupCount(String outcome) {
+        return meterRegistry.get(SignupService.SIGNUP_TIMER).tag("outcome", outcome).timer().count();
+    }
+}
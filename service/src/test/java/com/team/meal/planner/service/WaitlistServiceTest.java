@@ -0,0 +1,254 @@
+package com.team.meal.planner.service;
+
+import com.team.meal.planner.dto.MealUpdate;
+import com.team.meal.planner.dto.SignupResult;
+import com.team.meal.planner.entities.DietaryTag;
+import com.team.meal.planner.entities.Meal;
+import com.team.meal.planner.entities.Person;
+import com.team.meal.planner.exception.ConflictException;
+import com.team.meal.planner.repository.MealRepository;
+import com.team.meal.planner.repository.PersonRepository;
+import com.team.meal.planner.repository.SignupRepository;
+import com.team.meal.planner.repository.WaitlistRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:waitlist-test;DB_CLOSE_DELAY=-1",
+        "meal-planner.outbox.poll-interval=PT1H",
+        "meal-planner.signup.waitlist=true"
+})
+class WaitlistServiceTest {
+
+    @Autowired
+    private SignupService signupService;
+
+    @Autowired
+    private MealService mealService;
+
+    @Autowired
+    private MealRepository mealRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private SignupRepository signupRepository;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WaitlistService waitlist;
+
+    @Autowired
+    private NotificationOutbox outbox;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private LocalDateTime day;
+
+    @BeforeEach
+    void setUp() {
+        // see NotificationOutboxDispatcherTest: other contexts cache people of their own database
+        entityManagerFactory.getCache().evictAll();
+        day = LocalDateTime.now().plusDays(20).withHour(12).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    @Test
+    void fullMeal_queuesInOrderAndCancellationPromotesTheFirstInLine() {
+        Meal meal = meal("Waitlist Lunch", day, 1);
+        Person ann = person("ann");
+        Person bo = person("bo");
+        Person cy = person("cy");
+        SignupResult seated = signupService.createSignup(meal.getId(), ann.getId(), null);
+
+        SignupResult boQueued = signupService.createSignup(meal.getId(), bo.getId(), "window seat");
+        SignupResult cyQueued = signupService.createSignup(meal.getId(), cy.getId(), null);
+
+        assertThat(boQueued.isWaitlisted()).isTrue();
+        assertThat(boQueued.getWaitlisted().getPosition()).isEqualTo(1);
+        assertThat(cyQueued.getWaitlisted().getPosition()).isEqualTo(2);
+        // asking again reports the same place instead of queuing twice
+        assertThat(signupService.createSignup(meal.getId(), bo.getId(), null).getWaitlisted().getId())
+                .isEqualTo(boQueued.getWaitlisted().getId());
+
+        signupService.cancelSignup(seated.getSignup().getId());
+
+        assertThat(signupRepository.findByMealIdAndPersonId(meal.getId(), bo.getId()))
+                .hasValueSatisfying(s -> assertThat(s.getNote()).isEqualTo("window seat"));
+        assertThat(signupRepository.findByMealIdAndPersonId(meal.getId(), ann.getId())).isEmpty();
+        assertThat(mealRepository.findVersionById(meal.getId()).orElseThrow().getAttendeeCount()).isEqualTo(1);
+        assertThat(waitlistRepository.findByMealIdOrderById(meal.getId()))
+                .extracting(e -> e.getPerson().getId()).containsExactly(cy.getId());
+        assertThat(signupService.createSignup(meal.getId(), cy.getId(), null).getWaitlisted().getPosition())
+                .isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT recipient FROM notification_outbox WHERE meal_id = ?",
+                String.class, meal.getId())).contains("bo@example.com");
+    }
+
+    @Test
+    void raisingCapacity_promotesInOrderAndDropsPeopleTheRulesNoLongerAllow() {
+        Meal meal = meal("Waitlist Dinner", day.withHour(19), 1);
+        meal.setTags(Set.of("VEGETARIAN"));
+        meal = mealRepository.save(meal);
+        Meal otherMealThatDay = meal("Other Lunch", day, 10);
+        signupService.createSignup(meal.getId(), person("dan").getId(), null);
+        Person booked = person("eli");
+        Person turnedVegan = person("fay");
+        Person gus = person("gus");
+        Person hal = person("hal");
+        Person ivy = person("ivy");
+        for (Person person : new Person[]{booked, turnedVegan, gus, hal, ivy}) {
+            assertThat(signupService.createSignup(meal.getId(), person.getId(), null).isWaitlisted()).isTrue();
+        }
+        // both become ineligible while they wait
+        signupService.createSignup(otherMealThatDay.getId(), booked.getId(), null);
+        turnedVegan.setDietaryTags(Set.of(DietaryTag.VEGAN));
+        personRepository.save(turnedVegan);
+
+        MealUpdate update = new MealUpdate();
+        update.setMaxAttendees(3);
+        mealService.updateMeal(meal.getId(), update);
+
+        assertThat(signupRepository.findByMealIdAndPersonId(meal.getId(), gus.getId())).isPresent();
+        assertThat(signupRepository.findByMealIdAndPersonId(meal.getId(), hal.getId())).isPresent();
+        assertThat(signupRepository.findByMealIdAndPersonId(meal.getId(), booked.getId())).isEmpty();
+        assertThat(signupRepository.findByMealIdAndPersonId(meal.getId(), turnedVegan.getId())).isEmpty();
+        assertThat(mealRepository.findVersionById(meal.getId()).orElseThrow().getAttendeeCount()).isEqualTo(3);
+        assertThat(waitlistRepository.findByMealIdOrderById(meal.getId()))
+                .extracting(e -> e.getPerson().getId()).containsExactly(ivy.getId());
+    }
+
+    @Test
+    void personBookedThatDay_isRejectedRatherThanQueued() {
+        Meal full = meal("Full Brunch", day.withHour(10), 1);
+        Meal open = meal("Open Supper", day.withHour(20), 10);
+        signupService.createSignup(full.getId(), person("jo").getId(), null);
+        Person kim = person("kim");
+        signupService.createSignup(open.getId(), kim.getId(), null);
+
+        assertThatThrownBy(() -> signupService.createSignup(full.getId(), kim.getId(), null))
+                .isInstanceOf(ConflictException.class).hasMessageContaining("another meal on this day");
+        assertThat(waitlistRepository.findByMealIdAndPersonId(full.getId(), kim.getId())).isEmpty();
+    }
+
+    @Test
+    void mealThatHasStarted_promotesNobody() {
+        Meal meal = meal("Started Lunch", day.withHour(13), 1);
+        signupService.createSignup(meal.getId(), person("lee").getId(), null);
+        Person mo = person("mo");
+        assertThat(signupService.createSignup(meal.getId(), mo.getId(), null).isWaitlisted()).isTrue();
+
+        MealUpdate update = new MealUpdate();
+        update.setDate(LocalDateTime.now().minusHours(1));
+        update.setMaxAttendees(2);
+        mealService.updateMeal(meal.getId(), update);
+
+        assertThat(signupRepository.findByMealIdAndPersonId(meal.getId(), mo.getId())).isEmpty();
+        assertThat(mealRepository.findVersionById(meal.getId()).orElseThrow().getAttendeeCount()).isEqualTo(1);
+    }
+
+    /**
+     * LOCK_FREE reads the meal without a lock. A seat freed right after that read must go to this request
+     * rather than leave it queued next to an empty seat that the cancellation's promotion did not see.
+     */
+    @Test
+    void lockFreeSignup_seatFreedAfterTheUnlockedRead_takesTheSeatInsteadOfQueuing() throws Exception {
+        Meal meal = meal("Lock-free Lunch", day.withHour(13), 1);
+        SignupResult seated = signupService.createSignup(meal.getId(), person("lu").getId(), null);
+        Person max = person("max");
+        ExecutorService canceller = Executors.newSingleThreadExecutor();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        // the meal snapshot is read just before the person, so cancel once, right then
+        PersonRepository cancellingAfterSnapshot = delegate(PersonRepository.class, personRepository,
+                (method, args) -> {
+                    if (method.getName().equals("findById") && max.getId().equals(args[0])
+                            && cancelled.compareAndSet(false, true)) {
+                        canceller.submit(() -> signupService.cancelSignup(seated.getSignup().getId()))
+                                .get(30, TimeUnit.SECONDS);
+                    }
+                });
+        SignupService lockFree = new SignupService(signupRepository, mealRepository, cancellingAfterSnapshot,
+                outbox, waitlist,
+                new SignupAdmissionGate(mealRepository, signupRepository, personRepository, false, 1, Duration.ZERO),
+                events, new SimpleMeterRegistry(), transactionTemplate, SignupMode.LOCK_FREE, 3);
+        try {
+            SignupResult result = lockFree.createSignup(meal.getId(), max.getId(), null);
+
+            assertThat(cancelled).isTrue();
+            assertThat(result.isCreated()).isTrue();
+            assertThat(waitlistRepository.findByMealIdOrderById(meal.getId())).isEmpty();
+            assertThat(mealRepository.findVersionById(meal.getId()).orElseThrow().getAttendeeCount()).isEqualTo(1);
+        } finally {
+            canceller.shutdownNow();
+        }
+    }
+
+    /**
+     * A proxy of {@code target} that runs {@code before} ahead of every call.
+     */
+    private static <T> T delegate(Class<T> type, T target, Before before) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            before.accept(method, args);
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }));
+    }
+
+    @FunctionalInterface
+    private interface Before {
+        void accept(Method method, Object[] args) throws Exception;
+    }
+
+    private Meal meal(String title, LocalDateTime date, int maxAttendees) {
+        Meal meal = new Meal();
+        meal.setTitle(title);
+        meal.setDate(date);
+        meal.setMaxAttendees(maxAttendees);
+        return mealRepository.save(meal);
+    }
+
+    private Person person(String name) {
+        Person person = new Person();
+        person.setName(name);
+        person.setEmail(name + "@example.com");
+        return personRepository.save(person);
+    }
+}
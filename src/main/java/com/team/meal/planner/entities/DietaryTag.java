@@ -1,11 +0,0 @@
-package com.team.meal.planner.entities;
-
-public enum DietaryTag {
-    VEGETARIAN,
-    VEGAN,
-    HALAL,
-    KOSHER,
-    NUT_FREE,
-    GLUTEN_FREE,
-    NONE
-}